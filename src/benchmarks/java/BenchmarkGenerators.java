@@ -0,0 +1,201 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generators for the synthetic inputs used by Benchmarks.  Every generator is a pure
+ * function of its arguments, so the same seed always produces the same graph or key stream and
+ * results can be compared between runs.  Graph nodes are the Integers 0 to n-1, and every edge is
+ * inserted in both directions.
+ */
+public class BenchmarkGenerators {
+
+    /**
+     * Generates a rows by cols grid where every node is connected to the nodes above, below, left
+     * and right of it, with random integer weights from 1 to 10.
+     *
+     * @param rows number of rows in the grid
+     * @param cols number of columns in the grid
+     * @param seed seed for the edge weights
+     * @return the grid graph, with node r * cols + c at row r and column c
+     */
+    public static DijkstraGraph<Integer, Double> grid(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        DijkstraGraph<Integer, Double> graph = nodes(rows * cols);
+        for (int r = 0; r < rows; ++r) {
+            for (int c = 0; c < cols; ++c) {
+                int node = r * cols + c;
+                if (c + 1 < cols) connect(graph, node, node + 1, 1 + random.nextInt(10));
+                if (r + 1 < rows) connect(graph, node, node + cols, 1 + random.nextInt(10));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Generates a random geometric graph: n points placed uniformly in the unit square, with an
+     * edge between every pair of points closer than radius, weighted by their distance.
+     *
+     * @param n      number of nodes
+     * @param radius the largest distance between connected points
+     * @param seed   seed for the point positions
+     * @return the random geometric graph
+     */
+    public static DijkstraGraph<Integer, Double> randomGeometric(int n, double radius, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        // bucket the points into square cells of side radius, so only neighboring cells are checked
+        int cells = Math.max(1, (int) (1.0 / radius));
+        List<List<Integer>> buckets = new ArrayList<>();
+        for (int i = 0; i < cells * cells; ++i) {
+            buckets.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; ++i) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+            buckets.get(cell(x[i], cells) * cells + cell(y[i], cells)).add(i);
+        }
+
+        DijkstraGraph<Integer, Double> graph = nodes(n);
+        for (int i = 0; i < n; ++i) {
+            int cx = cell(x[i], cells);
+            int cy = cell(y[i], cells);
+            for (int dx = -1; dx <= 1; ++dx) {
+                for (int dy = -1; dy <= 1; ++dy) {
+                    if (cx + dx < 0 || cx + dx >= cells || cy + dy < 0 || cy + dy >= cells)
+                        continue;
+                    for (int j : buckets.get((cx + dx) * cells + cy + dy)) {
+                        double distance = Math.hypot(x[i] - x[j], y[i] - y[j]);
+                        if (j > i && distance < radius) connect(graph, i, j, distance);
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Generates a scale-free graph by Barabasi-Albert preferential attachment: starting from a
+     * clique of edgesPerNode + 1 nodes, each new node connects to edgesPerNode distinct existing
+     * nodes chosen with probability proportional to their degree.  Weights are random integers
+     * from 1 to 10.
+     *
+     * @param n            number of nodes
+     * @param edgesPerNode number of existing nodes each new node connects to
+     * @param seed         seed for the attachment choices and weights
+     * @return the scale-free graph
+     */
+    public static DijkstraGraph<Integer, Double> scaleFree(int n, int edgesPerNode, long seed) {
+        Random random = new Random(seed);
+        DijkstraGraph<Integer, Double> graph = nodes(n);
+        // every edge adds both of its endpoints here, so a uniform pick is degree-proportional
+        List<Integer> endpoints = new ArrayList<>();
+        int clique = Math.min(n, edgesPerNode + 1);
+        for (int i = 0; i < clique; ++i) {
+            for (int j = i + 1; j < clique; ++j) {
+                connect(graph, i, j, 1 + random.nextInt(10));
+                endpoints.add(i);
+                endpoints.add(j);
+            }
+        }
+        for (int i = clique; i < n; ++i) {
+            List<Integer> targets = new ArrayList<>();
+            while (targets.size() < edgesPerNode) {
+                int target = endpoints.get(random.nextInt(endpoints.size()));
+                if (!targets.contains(target)) targets.add(target);
+            }
+            for (int target : targets) {
+                connect(graph, i, target, 1 + random.nextInt(10));
+                endpoints.add(i);
+                endpoints.add(target);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Generates count random (start, end) node pairs for shortest path queries.
+     *
+     * @param nodeCount number of nodes in the graph being queried
+     * @param count     number of pairs
+     * @param seed      seed for the pairs
+     * @return array of pairs, each holding a start node then an end node
+     */
+    public static int[][] queryPairs(int nodeCount, int count, long seed) {
+        Random random = new Random(seed);
+        int[][] pairs = new int[count][2];
+        for (int[] pair : pairs) {
+            pair[0] = random.nextInt(nodeCount);
+            pair[1] = random.nextInt(nodeCount);
+        }
+        return pairs;
+    }
+
+    /**
+     * @return the keys 0 to n-1 in ascending order
+     */
+    public static Integer[] sequentialKeys(int n) {
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            keys[i] = i;
+        }
+        return keys;
+    }
+
+    /**
+     * @return the keys 0 to n-1 in a random order determined by seed
+     */
+    public static Integer[] randomKeys(int n, long seed) {
+        List<Integer> keys = new ArrayList<>(List.of(sequentialKeys(n)));
+        Collections.shuffle(keys, new Random(seed));
+        return keys.toArray(new Integer[0]);
+    }
+
+    /**
+     * @return count keys drawn uniformly from 0 to bound-1, with repeats, using seed
+     */
+    public static Integer[] randomLookups(int count, int bound, long seed) {
+        Random random = new Random(seed);
+        Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; ++i) {
+            keys[i] = random.nextInt(bound);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys 0 to n-1 alternately taken from the low and high ends (0, n-1, 1, n-2, ...).
+     * Every insert lands next to the previous one on the opposite side of the tree, which forces
+     * rebalancing work on both sides.
+     *
+     * @return the keys 0 to n-1 in zigzag order
+     */
+    public static Integer[] adversarialKeys(int n) {
+        Integer[] keys = new Integer[n];
+        int low = 0;
+        int high = n - 1;
+        for (int i = 0; i < n; ++i) {
+            keys[i] = i % 2 == 0 ? low++ : high--;
+        }
+        return keys;
+    }
+
+    private static DijkstraGraph<Integer, Double> nodes(int n) {
+        DijkstraGraph<Integer, Double> graph = new DijkstraGraph<>();
+        for (int i = 0; i < n; ++i) {
+            graph.insertNode(i);
+        }
+        return graph;
+    }
+
+    private static void connect(DijkstraGraph<Integer, Double> graph, int a, int b, double weight) {
+        graph.insertEdge(a, b, weight);
+        graph.insertEdge(b, a, weight);
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+}
@@ -0,0 +1,312 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Benchmark suite for DijkstraGraph and RedBlackTree.  Each benchmark is run for a number of
+ * warmup iterations that are thrown away, followed by measured iterations, and reports the average
+ * time per operation.  Results are printed as a table and written as JSON (one object per
+ * benchmark holding its name, parameters, score and per-iteration samples) so that they can be
+ * tracked over time.
+ * <p>
+ * Usage: java -Xmx2g Benchmarks [--warmup N] [--iterations N] [--filter TEXT] [--out FILE]
+ * or, from the build, gradle benchmark -Pargs="--filter TEXT".
+ */
+public class Benchmarks {
+
+    /**
+     * A single benchmarked operation.  The value it returns is kept so that the JIT cannot
+     * eliminate the work.
+     */
+    public interface Operation {
+        long run(int index);
+    }
+
+    /**
+     * The measurements taken for one benchmark.
+     */
+    public static class Result {
+        public final String name;
+        public final String params;
+        public final double[] nanosPerOp; // one sample per measured iteration
+
+        public Result(String name, String params, double[] nanosPerOp) {
+            this.name = name;
+            this.params = params;
+            this.nanosPerOp = nanosPerOp;
+        }
+
+        /**
+         * @return the mean of the samples, in nanoseconds per operation
+         */
+        public double score() {
+            return Arrays.stream(nanosPerOp).average().orElse(Double.NaN);
+        }
+
+        /**
+         * @return the sample standard deviation, in nanoseconds per operation
+         */
+        public double error() {
+            double mean = score();
+            double squares = 0;
+            for (double sample : nanosPerOp) {
+                squares += (sample - mean) * (sample - mean);
+            }
+            return nanosPerOp.length < 2 ? 0 : Math.sqrt(squares / (nanosPerOp.length - 1));
+        }
+    }
+
+    private static volatile long sink; // results of every operation are folded into this
+
+    private final int warmup;
+    private final int iterations;
+    private final String filter;
+    private final List<Result> results = new ArrayList<>();
+
+    public Benchmarks(int warmup, int iterations, String filter) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.filter = filter;
+    }
+
+    /**
+     * @return true when the benchmark with the provided name should be run
+     */
+    private boolean selected(String name) {
+        return filter == null || name.contains(filter);
+    }
+
+    /**
+     * Runs one benchmark, unless its name does not contain the filter text.
+     *
+     * @param name       name of the benchmark
+     * @param params     description of the benchmark's parameters, such as input sizes
+     * @param operations number of operations in each iteration
+     * @param operation  the operation to time
+     */
+    public void measure(String name, String params, int operations, Operation operation) {
+        measure(name, params, operations, () -> { }, operation);
+    }
+
+    /**
+     * Runs one benchmark, unless its name does not contain the filter text.  The setup is run
+     * before each iteration, outside the timed region, to prepare state that the operations use
+     * up (such as a tree to remove keys from).
+     *
+     * @param name       name of the benchmark
+     * @param params     description of the benchmark's parameters, such as input sizes
+     * @param operations number of operations in each iteration
+     * @param setup      run before each iteration and not timed
+     * @param operation  the operation to time
+     */
+    public void measure(String name, String params, int operations, Runnable setup,
+                        Operation operation) {
+        if (!selected(name)) return;
+        double[] samples = new double[iterations];
+        for (int iteration = -warmup; iteration < iterations; ++iteration) {
+            setup.run();
+            long result = 0;
+            long startTime = System.nanoTime();
+            for (int i = 0; i < operations; ++i) {
+                result += operation.run(i);
+            }
+            long elapsed = System.nanoTime() - startTime;
+            sink += result;
+            if (iteration >= 0) samples[iteration] = (double) elapsed / operations;
+        }
+        Result result = new Result(name, params, samples);
+        results.add(result);
+        System.out.printf("%-40s %-28s %14.1f +- %10.1f ns/op%n", name, params, result.score(),
+                result.error());
+    }
+
+    /**
+     * Benchmarks shortest path queries between random pairs of nodes on each kind of generated
+     * graph.
+     */
+    public void graphBenchmarks() {
+        benchmarkQueries("dijkstra.shortestPathCost.grid", "rows=100,cols=100",
+                BenchmarkGenerators.grid(100, 100, 1));
+        benchmarkQueries("dijkstra.shortestPathCost.geometric", "n=10000,radius=0.02",
+                BenchmarkGenerators.randomGeometric(10_000, 0.02, 2));
+        benchmarkQueries("dijkstra.shortestPathCost.scaleFree", "n=10000,m=3",
+                BenchmarkGenerators.scaleFree(10_000, 3, 3));
+
+        // the same queries with search instrumentation detached and attached; detached is the
+        // default, so its score should match dijkstra.shortestPathCost.grid
+        DijkstraGraph<Integer, Double> grid = BenchmarkGenerators.grid(100, 100, 1);
+        benchmarkQueries("dijkstra.instrumentation.off", "rows=100,cols=100", grid);
+        grid.setInstrumentation(new SearchInstrumentation());
+        benchmarkQueries("dijkstra.instrumentation.on", "rows=100,cols=100", grid);
+        grid.setInstrumentation(null);
+    }
+
+    /**
+     * Benchmarks queries whose answer is next to the start node on a 1000x1000 grid: the cost of
+     * a path along a single edge, and the nearest node to the start.  These should take time
+     * proportional to the work near the start, not to the size of the graph.  Needs a heap of
+     * about 2GB (-Xmx2g).
+     */
+    public void largeGridBenchmarks() {
+        if (!selected("dijkstra.shortestPathCost.grid.large")
+                && !selected("dijkstra.oneEdge.grid.large")
+                && !selected("dijkstra.nearestNodes.grid.large"))
+            return; // building the grid alone takes several seconds
+        int side = 1000;
+        String params = "rows=" + side + ",cols=" + side;
+        DijkstraGraph<Integer, Double> grid = BenchmarkGenerators.grid(side, side, 1);
+        benchmarkQueries("dijkstra.shortestPathCost.grid.large", params, grid);
+        int[][] pairs = BenchmarkGenerators.queryPairs(grid.getNodeCount(), 200, 4);
+        measure("dijkstra.oneEdge.grid.large", params, pairs.length, i -> {
+            int node = pairs[i][0] % side == side - 1 ? pairs[i][0] - 1 : pairs[i][0];
+            return (long) grid.shortestPathCost(node, node + 1);
+        });
+        measure("dijkstra.nearestNodes.grid.large", params, pairs.length,
+                i -> grid.nearestNodes(pairs[i][0], 1, node -> true).next().getKey());
+    }
+
+    private void benchmarkQueries(String name, String params,
+                                  DijkstraGraph<Integer, Double> graph) {
+        int[][] pairs = BenchmarkGenerators.queryPairs(graph.getNodeCount(), 200, 4);
+        measure(name, params, pairs.length, i -> {
+            try {
+                return (long) graph.shortestPathCost(pairs[i][0], pairs[i][1]);
+            } catch (NoSuchElementException e) {
+                return -1; // geometric graphs are not always connected
+            }
+        });
+    }
+
+    /**
+     * Benchmarks insert, remove, contains, in-order iteration and snapshots on trees built from
+     * each kind of key stream.
+     */
+    public void treeBenchmarks() {
+        int n = 100_000;
+        benchmarkTree("sequential", BenchmarkGenerators.sequentialKeys(n));
+        benchmarkTree("random", BenchmarkGenerators.randomKeys(n, 5));
+        benchmarkTree("adversarial", BenchmarkGenerators.adversarialKeys(n));
+    }
+
+    private void benchmarkTree(String stream, Integer[] keys) {
+        String params = "keys=" + stream + ",n=" + keys.length;
+        Integer[] lookups = BenchmarkGenerators.randomKeys(keys.length, 6);
+
+        measure("redBlackTree.insert", params, 1, i -> build(keys).size());
+        RedBlackTree<Integer> tree = build(keys);
+        measure("redBlackTree.contains", params, lookups.length,
+                i -> tree.contains(lookups[i]) ? 1 : 0);
+        measure("redBlackTree.iterate", params, 1, i -> tree.toInOrderString().length());
+        measure("redBlackTree.snapshot.write", params, 1, i -> snapshot(tree).length);
+        byte[] snapshot = snapshot(tree);
+        measure("redBlackTree.snapshot.read", params, 1, i -> {
+            try {
+                return RedBlackTreeSnapshot.read(RedBlackTreeSnapshot.INTEGER_KEYS,
+                        Channels.newChannel(new ByteArrayInputStream(snapshot))).size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        // every iteration removes from a fresh copy, built before the timed region
+        AtomicReference<RedBlackTree<Integer>> copy = new AtomicReference<>();
+        measure("redBlackTree.remove", params, lookups.length, () -> copy.set(build(keys)),
+                i -> copy.get().remove(lookups[i]) ? 1 : 0);
+    }
+
+    /**
+     * Benchmarks contains on a large tree, built once from keys in random order, against a frozen
+     * copy of the same tree.  Half of the lookups miss.  At this size neither structure fits in
+     * the processor's caches, so the difference is mostly the number of cache misses per lookup;
+     * run with --filter contains.large under perf stat -e cache-misses to count them.  Needs a
+     * heap of about 2GB (-Xmx2g).
+     */
+    public void frozenTreeBenchmarks() {
+        if (!selected("redBlackTree.contains.large")
+                && !selected("frozenRedBlackTree.contains.large"))
+            return; // building the tree alone takes several seconds
+        int n = 10_000_000;
+        String params = "keys=random,n=" + n;
+        Integer[] lookups = BenchmarkGenerators.randomLookups(1 << 20, 2 * n, 8);
+        RedBlackTree<Integer> tree = build(BenchmarkGenerators.randomKeys(n, 7));
+        FrozenRedBlackTree<Integer> frozen = tree.freeze();
+        measure("redBlackTree.contains.large", params, lookups.length,
+                i -> tree.contains(lookups[i]) ? 1 : 0);
+        measure("frozenRedBlackTree.contains.large", params, lookups.length,
+                i -> frozen.contains(lookups[i]) ? 1 : 0);
+    }
+
+    private static byte[] snapshot(RedBlackTree<Integer> tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            RedBlackTreeSnapshot.write(tree, RedBlackTreeSnapshot.INTEGER_KEYS,
+                    Channels.newChannel(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RedBlackTree<Integer> build(Integer[] keys) {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (Integer key : keys) {
+            tree.insert(key);
+        }
+        return tree;
+    }
+
+    /**
+     * Writes every result measured so far to the provided file as a JSON array.
+     *
+     * @param file where to write the results
+     * @throws IOException when the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int r = 0; r < results.size(); ++r) {
+            Result result = results.get(r);
+            sb.append("  {\"benchmark\": \"").append(result.name)
+                    .append("\", \"params\": \"").append(result.params)
+                    .append("\", \"warmupIterations\": ").append(warmup)
+                    .append(", \"primaryMetric\": {\"score\": ").append(result.score())
+                    .append(", \"scoreError\": ").append(result.error())
+                    .append(", \"scoreUnit\": \"ns/op\", \"rawData\": ")
+                    .append(Arrays.toString(result.nanosPerOp)).append("}}");
+            sb.append(r + 1 < results.size() ? ",\n" : "\n");
+        }
+        sb.append("]\n");
+        Files.writeString(file, sb.toString());
+    }
+
+    public static void main(String[] args) throws IOException {
+        int warmup = 3;
+        int iterations = 5;
+        String filter = null;
+        Path out = Path.of("benchmark-results.json");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--warmup": warmup = Integer.parseInt(args[i + 1]); break;
+                case "--iterations": iterations = Integer.parseInt(args[i + 1]); break;
+                case "--filter": filter = args[i + 1]; break;
+                case "--out": out = Path.of(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Benchmarks benchmarks = new Benchmarks(warmup, iterations, filter);
+        benchmarks.graphBenchmarks();
+        benchmarks.largeGridBenchmarks();
+        benchmarks.treeBenchmarks();
+        benchmarks.frozenTreeBenchmarks();
+        benchmarks.writeJson(out);
+        System.out.println("results written to " + out);
+    }
+}
@@ -0,0 +1,772 @@
+// --== CS400 File Header Information ==--
+// Name: Garrett Hetchler
+// Email: ghetchler@wisc.edu
+// Group and Team: NA
+// Group TA: NA
+// Lecturer: Payman
+// Notes to Grader: <optional extra notes>
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.Predicate;
+
+/**
+ * This class extends the BaseGraph data structure with additional methods for computing the total
+ * cost and list of node data along the shortest path connecting a provided starting to ending
+ * nodes.  This class makes use of Dijkstra's shortest path algorithm.
+ */
+public class DijkstraGraph<NodeType, EdgeType extends Number> extends BaseGraph<NodeType,
+        EdgeType> implements GraphADT<NodeType, EdgeType> {
+
+    /**
+     * While searching for the shortest path between two nodes, a SearchNode contains data about one
+     * specific path between the start node and another node in the graph.  The final node in this
+     * path is stored in it's node field.  The total cost of this path is stored in its cost field.
+     * And the predecessor SearchNode within this path is referened by the predecessor field (this
+     * field is null within the SearchNode containing the starting node in it's node field).
+     * <p>
+     * SearchNodes are Comparable and are sorted by cost so that the lowest cost SearchNode has the
+     * highest priority within a java.util.PriorityQueue.
+     */
+    protected class SearchNode implements Comparable<SearchNode> {
+        public Node node;
+        public int id; // id of node
+        public double cost;
+        public SearchNode predecessor;
+
+        public SearchNode(Node node, int id, double cost, SearchNode predecessor) {
+            this.node = node;
+            this.id = id;
+            this.cost = cost;
+            this.predecessor = predecessor;
+        }
+
+        public int compareTo(SearchNode other) {
+            if (cost > other.cost) return +1;
+            if (cost < other.cost) return -1;
+            return 0;
+        }
+    }
+
+    /**
+     * The edges leaving one node, as parallel arrays of successor ids and weights in the same
+     * order as the node's edgesLeaving list, so that searches can follow edges using only ints
+     * and doubles.
+     */
+    protected static class Adjacency {
+        public int[] successors = new int[2];
+        public double[] weights = new double[2];
+        public int size = 0;
+
+        /**
+         * Adds an edge to the node with the provided id, or updates its weight when there
+         * already is one.
+         */
+        public void put(int successorId, double weight) {
+            for (int i = 0; i < size; ++i) {
+                if (successors[i] == successorId) {
+                    weights[i] = weight;
+                    return;
+                }
+            }
+            if (size == successors.length) {
+                successors = Arrays.copyOf(successors, 2 * size);
+                weights = Arrays.copyOf(weights, 2 * size);
+            }
+            successors[size] = successorId;
+            weights[size++] = weight;
+        }
+
+        /**
+         * Removes the edge to the node with the provided id, keeping the others in order.
+         */
+        public void remove(int successorId) {
+            for (int i = 0; i < size; ++i) {
+                if (successors[i] == successorId) {
+                    System.arraycopy(successors, i + 1, successors, i, size - i - 1);
+                    System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Arrays indexed by node id that a search uses to track costs and settled nodes.  A value
+     * only counts when its stamp matches the current search, so the arrays are allocated once and
+     * reused by later searches without being cleared, and a search costs time proportional to the
+     * part of the graph it explores.
+     */
+    protected static class SearchScratch {
+        public int[] costStamp = new int[0]; // stamp of the search that set bestCost
+        public int[] settledStamp = new int[0]; // stamp of the search that settled the node
+        public double[] bestCost = new double[0]; // lowest cost queued so far
+        private int stamp = 0;
+
+        /**
+         * Starts a new search over ids below idBound.
+         *
+         * @return the stamp of the new search
+         */
+        public int begin(int idBound) {
+            if (costStamp.length < idBound) {
+                int length = Math.max(idBound, 2 * costStamp.length);
+                costStamp = Arrays.copyOf(costStamp, length);
+                settledStamp = Arrays.copyOf(settledStamp, length);
+                bestCost = Arrays.copyOf(bestCost, length);
+            }
+            if (stamp == Integer.MAX_VALUE) { // start over rather than reuse old stamps
+                Arrays.fill(costStamp, 0);
+                Arrays.fill(settledStamp, 0);
+                stamp = 0;
+            }
+            return ++stamp;
+        }
+    }
+
+    // Every node inserted into this graph is given a dense int id, in insertion order, that stays
+    // the same until the node is removed.  Ids of removed nodes are not reused, so nodesById and
+    // adjacencyById hold null in their slots.
+    protected Hashtable<NodeType, Integer> nodeIds = new Hashtable<>();
+    protected ArrayList<Node> nodesById = new ArrayList<>();
+    protected ArrayList<Adjacency> adjacencyById = new ArrayList<>();
+    // each thread searching this graph reuses its own arrays
+    protected final ThreadLocal<SearchScratch> searchScratch =
+            ThreadLocal.withInitial(SearchScratch::new);
+
+    protected SearchInstrumentation instrumentation; // null unless searches are being recorded
+    // null unless the reachability index is enabled; volatile because queries replace a stale
+    // index, and other threads querying at the same time must see the replacement fully built
+    protected volatile ReachabilityIndex reachability;
+    protected final Object reachabilityLock = new Object(); // held while rebuilding reachability
+
+    /**
+     * Inserts a new node with the provided data into this graph and assigns it the next unused
+     * id.
+     *
+     * @param data the data item stored in the new node
+     * @return true if the node was inserted, false if it was already in the graph
+     */
+    @Override
+    public boolean insertNode(NodeType data) {
+        if (!super.insertNode(data)) return false;
+        nodeIds.put(data, nodesById.size());
+        nodesById.add(nodes.get(data));
+        adjacencyById.add(new Adjacency());
+        if (reachability != null) reachability = reachability.withNode();
+        return true;
+    }
+
+    /**
+     * Removes the node with the provided data from this graph, along with its id.
+     *
+     * @param data the data item stored in the node to remove
+     * @return true if the node was removed, false if it was not in the graph
+     */
+    @Override
+    public boolean removeNode(NodeType data) {
+        Node node = nodes.get(data);
+        if (node == null) return false;
+        int id = nodeIds.get(data);
+        for (Edge enteringEdge : node.edgesEntering) {
+            adjacencyById.get(nodeIds.get(enteringEdge.predecessor.data)).remove(id);
+        }
+        if (!super.removeNode(data)) return false;
+        nodeIds.remove(data);
+        nodesById.set(id, null);
+        adjacencyById.set(id, null);
+        if (reachability != null) reachability.invalidate();
+        return true;
+    }
+
+    /**
+     * Inserts a directed edge with the provided weight between two nodes, or updates the weight
+     * of the edge when it is already in the graph, and keeps the reachability index up to date.
+     *
+     * @param pred   the data item in the node the edge leaves
+     * @param succ   the data item in the node the edge enters
+     * @param weight the weight of the edge
+     * @return true if the edge was inserted or updated, false if not
+     */
+    @Override
+    public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
+        if (!super.insertEdge(pred, succ, weight)) return false;
+        int predId = nodeIds.get(pred);
+        int succId = nodeIds.get(succ);
+        adjacencyById.get(predId).put(succId, weight.doubleValue());
+        if (reachability != null) reachability.addEdge(predId, succId);
+        return true;
+    }
+
+    /**
+     * Removes the directed edge between two nodes.
+     *
+     * @param pred the data item in the node the edge leaves
+     * @param succ the data item in the node the edge enters
+     * @return true if the edge was removed, false if it was not in the graph
+     */
+    @Override
+    public boolean removeEdge(NodeType pred, NodeType succ) {
+        if (!super.removeEdge(pred, succ)) return false;
+        adjacencyById.get(nodeIds.get(pred)).remove(nodeIds.get(succ));
+        if (reachability != null) reachability.invalidate();
+        return true;
+    }
+
+    /**
+     * Turns on the reachability index.  While it is on, queries between nodes that have no path
+     * connecting them fail immediately instead of searching everything reachable from the start.
+     * The index is kept up to date as nodes and edges are inserted, and rebuilt on the next query
+     * after a removal.  It uses memory quadratic in the number of strongly connected components.
+     */
+    public void enableReachabilityIndex() {
+        reachability = new ReachabilityIndex(successorIds());
+    }
+
+    /**
+     * Turns off the reachability index and releases its memory.
+     */
+    public void disableReachabilityIndex() {
+        reachability = null;
+    }
+
+    /**
+     * Returns whether there is any sequence of directed edges from start to end.  This takes
+     * constant time while the reachability index is enabled, and otherwise searches from start.
+     *
+     * @param start the data item in the starting node
+     * @param end   the data item in the destination node
+     * @return true when end can be reached from start
+     * @throws NoSuchElementException when either start or end data do not correspond to a graph
+     *                                node
+     */
+    public boolean isReachable(NodeType start, NodeType end) {
+        int startId = getNodeId(start);
+        int endId = getNodeId(end);
+        if (reachability != null) return canReach(startId, endId);
+        return searchShortestPath(startId, endId) != null;
+    }
+
+    /**
+     * Checks the reachability index, rebuilding it first if it is out of date.  Threads querying
+     * at the same time rebuild a stale index only once.  Like every query, this must not run
+     * while another thread is modifying the graph.
+     */
+    protected boolean canReach(int startId, int endId) {
+        ReachabilityIndex index = reachability;
+        if (index.isStale()) {
+            synchronized (reachabilityLock) {
+                index = reachability;
+                if (index.isStale()) {
+                    index = new ReachabilityIndex(successorIds());
+                    reachability = index;
+                }
+            }
+        }
+        return index.canReach(startId, endId);
+    }
+
+    /**
+     * @return array holding, for each node id, the ids of the nodes its leaving edges enter (empty
+     * for ids of removed nodes)
+     */
+    protected int[][] successorIds() {
+        int[][] successors = new int[adjacencyById.size()][];
+        for (int id = 0; id < successors.length; ++id) {
+            Adjacency leaving = adjacencyById.get(id);
+            successors[id] = leaving == null ? new int[0] // removed node
+                    : Arrays.copyOf(leaving.successors, leaving.size);
+        }
+        return successors;
+    }
+
+    /**
+     * @return array holding, for each node id, the weights of its leaving edges in the same order
+     * as successorIds (empty for ids of removed nodes)
+     */
+    protected double[][] successorWeights() {
+        double[][] weights = new double[adjacencyById.size()][];
+        for (int id = 0; id < weights.length; ++id) {
+            Adjacency leaving = adjacencyById.get(id);
+            weights[id] = leaving == null ? new double[0] // removed node
+                    : Arrays.copyOf(leaving.weights, leaving.size);
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the id that was given to the node with the provided data when it was inserted.
+     *
+     * @param data the data item stored in the node
+     * @return the id of that node
+     * @throws NoSuchElementException when data does not correspond to a graph node
+     */
+    public int getNodeId(NodeType data) {
+        Integer id = nodeIds.get(data);
+        if (id == null)
+            throw new NoSuchElementException("No node with data " + data);
+        return id;
+    }
+
+    /**
+     * Returns the data item stored in the node with the provided id.
+     *
+     * @param id the id of the node
+     * @return the data stored in that node
+     * @throws NoSuchElementException when no node currently has that id
+     */
+    public NodeType getNodeData(int id) {
+        return nodeById(id).data;
+    }
+
+    /**
+     * @return a read-only view of the id of every node in this graph, keyed by node data
+     */
+    public Map<NodeType, Integer> getNodeIds() {
+        return Collections.unmodifiableMap(nodeIds);
+    }
+
+    /**
+     * @return one more than the largest id handed out so far, which is the length an array
+     * indexed by node id needs to be
+     */
+    public int getNodeIdBound() {
+        return nodesById.size();
+    }
+
+    /**
+     * Attaches instrumentation that records statistics about every shortest path search run on
+     * this graph from now on.  Passing null turns recording back off.
+     *
+     * @param instrumentation where to record search statistics, or null
+     */
+    public void setInstrumentation(SearchInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    /**
+     * @return the instrumentation attached to this graph, or null when searches are not recorded
+     */
+    public SearchInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * @return the node with the provided id
+     * @throws NoSuchElementException when no node currently has that id
+     */
+    protected Node nodeById(int id) {
+        Node node = id >= 0 && id < nodesById.size() ? nodesById.get(id) : null;
+        if (node == null)
+            throw new NoSuchElementException("No node with id " + id);
+        return node;
+    }
+
+    /**
+     * This helper method creates a network of SearchNodes while computing the shortest path between
+     * the provided start and end locations.  The SearchNode that is returned by this method is
+     * represents the end of the shortest path that is found: it's cost is the cost of that shortest
+     * path, and the nodes linked together through predecessor references represent all of the nodes
+     * along that shortest path (ordered from end to start).
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return SearchNode for the final end node within the shortest path
+     * @throws NoSuchElementException when no path from start to end is found or when either start
+     *                                or end data do not correspond to a graph node
+     */
+    protected SearchNode computeShortestPath(NodeType start, NodeType end) {
+        // TODO: implement in step 6
+        if (!this.containsNode(start) || !this.containsNode(end)) // if not contained, not here
+            throw new NoSuchElementException("Start or end vertices cannot be found");
+
+        return computeShortestPathById(nodeIds.get(start), nodeIds.get(end));
+    }
+
+    /**
+     * Same as computeShortestPath, but with the start and end nodes given by id.  The search
+     * follows edges through adjacencyById, and all of its bookkeeping is indexed by node id, so no
+     * NodeType values or Node objects are hashed or compared.
+     *
+     * @param startId the id of the starting node for the path
+     * @param endId   the id of the destination node for the path
+     * @return SearchNode for the final end node within the shortest path
+     * @throws NoSuchElementException when no path from start to end is found or when either id
+     *                                does not correspond to a graph node
+     */
+    protected SearchNode computeShortestPathById(int startId, int endId) {
+        nodeById(startId); // make sure start and end are in the graph
+        nodeById(endId);
+
+        SearchNode shortestPath = searchShortestPath(startId, endId);
+        if (shortestPath == null)
+            throw new NoSuchElementException("There is no path between these nodes");
+        return shortestPath;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the start node until the end node is settled.  Both ids must
+     * belong to nodes in the graph.  Apart from this thread's reused SearchScratch, the work done
+     * is proportional to the part of the graph explored.
+     *
+     * @param startId the id of the starting node for the path
+     * @param endId   the id of the destination node for the path
+     * @return SearchNode for the final end node within the shortest path, or null when there is
+     * no path from start to end
+     */
+    protected SearchNode searchShortestPath(int startId, int endId) {
+        Node startNode = nodesById.get(startId);
+        SearchInstrumentation recorder = instrumentation;
+        long startTime = recorder == null ? 0 : System.nanoTime();
+
+        if (startId == endId) { // if start and end are the same return
+            if (recorder != null) recorder.record(1, 0, 0, 1, startTime, true);
+            return new SearchNode(startNode, startId, 0.0, null);
+        }
+
+        int settled = 0, relaxed = 0, stale = 0, peakFrontier = 1; // cheap enough to always count
+
+        if (reachability != null && !canReach(startId, endId)) { // no need to search at all
+            if (recorder != null) recorder.record(0, 0, 0, 0, startTime, false);
+            return null;
+        }
+
+        SearchScratch scratch = searchScratch.get();
+        int stamp = scratch.begin(nodesById.size());
+        int[] settledStamp = scratch.settledStamp; // nodes whose shortest path is known
+        int[] costStamp = scratch.costStamp;
+        double[] bestCost = scratch.bestCost; // lowest cost queued so far, per node
+        PriorityQueue<SearchNode> listOfNodes = new PriorityQueue<>(); // pq of all nodes that
+        // need to be visited
+
+        listOfNodes.add(new SearchNode(startNode, startId, 0.0, null));
+        costStamp[startId] = stamp;
+        bestCost[startId] = 0.0;
+
+        while (!listOfNodes.isEmpty()) { // while our pq isn't empty
+            SearchNode temp = listOfNodes.remove(); // removes the lowest cost node in the pq
+            int id = temp.id;
+            if (settledStamp[id] == stamp) {
+                stale++;
+                continue; // a cheaper path to this node was already removed from the pq
+            }
+            settled++;
+            if (id == endId) { // the first time end is removed, its path is the shortest
+                if (recorder != null)
+                    recorder.record(settled, relaxed, stale, peakFrontier, startTime, true);
+                return temp;
+            }
+            settledStamp[id] = stamp;
+
+            Adjacency leaving = adjacencyById.get(id);
+            for (int i = 0; i < leaving.size; ++i) { // for all the leaving edges
+                relaxed++;
+                int successorId = leaving.successors[i];
+                if (settledStamp[successorId] == stamp) {
+                    continue; // if the target node has already been visited, skip it
+                }
+                double cost = temp.cost + leaving.weights[i];
+                // only queue paths that improve on the best
+                if (costStamp[successorId] != stamp || cost < bestCost[successorId]) {
+                    costStamp[successorId] = stamp;
+                    bestCost[successorId] = cost;
+                    listOfNodes.add(new SearchNode(nodesById.get(successorId), successorId, cost,
+                            temp));
+                }
+            }
+            peakFrontier = Math.max(peakFrontier, listOfNodes.size());
+        }
+
+        if (recorder != null)
+            recorder.record(settled, relaxed, stale, peakFrontier, startTime, false);
+        return null;
+    }
+
+    /**
+     * Returns the list of data values from nodes along the shortest path from the node with the
+     * provided start value through the node with the provided end value.  This list of data values
+     * starts with the start value, ends with the end value, and contains intermediary values in the
+     * order they are encountered while traversing this shortest path.  This method uses Dijkstra's
+     * shortest path algorithm to find this solution.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return list of data item from node along this shortest path
+     */
+    public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        // TODO: implement in step 7
+        return pathData(computeShortestPath(start, end));
+    }
+
+    /**
+     * Same as shortestPathData, but with the start and end nodes given by id.
+     *
+     * @param startId the id of the starting node for the path
+     * @param endId   the id of the destination node for the path
+     * @return list of data item from node along this shortest path
+     */
+    public List<NodeType> shortestPathDataById(int startId, int endId) {
+        return pathData(computeShortestPathById(startId, endId));
+    }
+
+    /**
+     * Returns the cost of the path (sum over edge weights) of the shortest path from the node
+     * containing the start data to the node containing the end data.  This method uses Dijkstra's
+     * shortest path algorithm to find this solution.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     */
+    public double shortestPathCost(NodeType start, NodeType end) {
+        return computeShortestPath(start, end).cost;
+    }
+
+    /**
+     * Same as shortestPathCost, but with the start and end nodes given by id.
+     *
+     * @param startId the id of the starting node for the path
+     * @param endId   the id of the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     */
+    public double shortestPathCostById(int startId, int endId) {
+        return computeShortestPathById(startId, endId).cost;
+    }
+
+    /**
+     * Same as shortestPathCost, but reports a missing path or node with an empty result instead
+     * of throwing an exception, for callers that expect many queries to fail.
+     *
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return the cost of the shortest path between these nodes, or an empty OptionalDouble when
+     * there is no path or either node is not in the graph
+     */
+    public OptionalDouble tryShortestPathCost(NodeType start, NodeType end) {
+        Integer startId = nodeIds.get(start);
+        Integer endId = nodeIds.get(end);
+        if (startId == null || endId == null) return OptionalDouble.empty();
+        SearchNode shortestPath = searchShortestPath(startId, endId);
+        return shortestPath == null ? OptionalDouble.empty() : OptionalDouble.of(shortestPath.cost);
+    }
+
+    /**
+     * Computes the cost of the shortest path from every source to every target in one pass.  A
+     * single Dijkstra search is run from each distinct source, and it stops as soon as every
+     * target has been settled, so it only explores as far as the most distant reachable target.
+     * The arrays used by the search are allocated once and shared by all of the sources.
+     *
+     * @param sources the data items in the starting nodes, one per row of the result
+     * @param targets the data items in the destination nodes, one per column of the result
+     * @return matrix where entry [i][j] is the cost of the shortest path from sources.get(i) to
+     * targets.get(j), or Double.POSITIVE_INFINITY when there is no such path
+     * @throws NoSuchElementException when any source or target does not correspond to a graph
+     *                                node
+     */
+    public double[][] distanceMatrix(List<NodeType> sources, List<NodeType> targets) {
+        int[] targetIds = new int[targets.size()];
+        boolean[] isTarget = new boolean[nodesById.size()];
+        int distinctTargets = 0;
+        for (int j = 0; j < targetIds.length; ++j) {
+            targetIds[j] = getNodeId(targets.get(j));
+            if (!isTarget[targetIds[j]]) {
+                isTarget[targetIds[j]] = true;
+                distinctTargets++;
+            }
+        }
+
+        double[][] matrix = new double[sources.size()][];
+        Hashtable<Integer, double[]> rowsBySource = new Hashtable<>(); // for repeated sources
+        double[] bestCost = new double[nodesById.size()];
+        // a node's cost or settled mark only counts when its stamp matches the current search,
+        // which saves clearing the arrays between sources
+        int[] costStamp = new int[nodesById.size()];
+        int[] settledStamp = new int[nodesById.size()];
+        PriorityQueue<SearchNode> listOfNodes = new PriorityQueue<>();
+
+        for (int i = 0; i < matrix.length; ++i) {
+            int sourceId = getNodeId(sources.get(i));
+            double[] row = rowsBySource.get(sourceId);
+            if (row == null) {
+                int stamp = i + 1;
+                int remaining = distinctTargets;
+                listOfNodes.clear();
+                // only costs are needed here, so the queued SearchNodes hold no Node or path
+                listOfNodes.add(new SearchNode(null, sourceId, 0.0, null));
+                bestCost[sourceId] = 0.0;
+                costStamp[sourceId] = stamp;
+
+                while (remaining > 0 && !listOfNodes.isEmpty()) {
+                    SearchNode temp = listOfNodes.remove();
+                    int id = temp.id;
+                    if (settledStamp[id] == stamp) continue; // stale entry
+                    settledStamp[id] = stamp;
+                    if (isTarget[id]) remaining--;
+
+                    Adjacency leaving = adjacencyById.get(id);
+                    for (int e = 0; e < leaving.size; ++e) {
+                        int successorId = leaving.successors[e];
+                        if (settledStamp[successorId] == stamp) continue;
+                        double cost = temp.cost + leaving.weights[e];
+                        if (costStamp[successorId] != stamp || cost < bestCost[successorId]) {
+                            costStamp[successorId] = stamp;
+                            bestCost[successorId] = cost;
+                            listOfNodes.add(new SearchNode(null, successorId, cost, null));
+                        }
+                    }
+                }
+
+                // every target is either settled now, or unreachable from this source
+                row = new double[targetIds.length];
+                for (int j = 0; j < targetIds.length; ++j) {
+                    row[j] = settledStamp[targetIds[j]] == stamp ? bestCost[targetIds[j]]
+                            : Double.POSITIVE_INFINITY;
+                }
+                rowsBySource.put(sourceId, row);
+            }
+            matrix[i] = row.clone();
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the nodes whose shortest path cost from start is at most radius and that match the
+     * provided predicate, in nondecreasing order of that cost.  The search runs incrementally as
+     * the returned iterator is advanced, and never explores past the radius.  The graph must not
+     * be modified while the iterator is in use.
+     *
+     * @param start    the data item in the starting node
+     * @param radius   the largest path cost to report
+     * @param isTarget which nodes to report, nodes that do not match are still searched through
+     * @return iterator over (node data, shortest path cost) entries
+     * @throws NoSuchElementException when start does not correspond to a graph node
+     */
+    public Iterator<Map.Entry<NodeType, Double>> nodesWithinCost(NodeType start, double radius,
+                                                                 Predicate<NodeType> isTarget) {
+        return new NearestNodeIterator(getNodeId(start), radius, Integer.MAX_VALUE, isTarget);
+    }
+
+    /**
+     * Returns the k nodes with the lowest shortest path cost from start that match the provided
+     * predicate (or fewer, when fewer are reachable), in nondecreasing order of that cost.  The
+     * search runs incrementally as the returned iterator is advanced, and stops once k matching
+     * nodes have been reported.  The graph must not be modified while the iterator is in use.
+     *
+     * @param start    the data item in the starting node
+     * @param k        the number of matching nodes to report
+     * @param isTarget which nodes to report, nodes that do not match are still searched through
+     * @return iterator over (node data, shortest path cost) entries
+     * @throws NoSuchElementException   when start does not correspond to a graph node
+     * @throws IllegalArgumentException when k is negative
+     */
+    public Iterator<Map.Entry<NodeType, Double>> nearestNodes(NodeType start, int k,
+                                                              Predicate<NodeType> isTarget) {
+        if (k < 0)
+            throw new IllegalArgumentException("k cannot be negative");
+        return new NearestNodeIterator(getNodeId(start), Double.POSITIVE_INFINITY, k, isTarget);
+    }
+
+    /**
+     * Iterator that settles one node at a time with Dijkstra's algorithm, and reports the settled
+     * nodes that match a predicate until either a cost bound is exceeded or a number of them has
+     * been reported.  Its state is kept in maps keyed by node id, rather than in the reused
+     * SearchScratch arrays, because other searches may run while it is only partly used; so it
+     * only ever holds the nodes it has reached.
+     */
+    protected class NearestNodeIterator implements Iterator<Map.Entry<NodeType, Double>> {
+        private final PriorityQueue<SearchNode> listOfNodes = new PriorityQueue<>();
+        private final HashSet<Integer> visited = new HashSet<>();
+        private final HashMap<Integer, Double> bestCost = new HashMap<>(); // lowest cost queued
+        private final double radius;
+        private final Predicate<NodeType> isTarget;
+        private int remaining; // number of matching nodes still to report
+        private SearchNode toExpand; // last settled node, whose edges have not been relaxed yet
+        private Map.Entry<NodeType, Double> next; // next entry to report, null if not found yet
+
+        protected NearestNodeIterator(int startId, double radius, int k,
+                                      Predicate<NodeType> isTarget) {
+            this.radius = radius;
+            this.remaining = k;
+            this.isTarget = isTarget;
+            if (radius >= 0) {
+                listOfNodes.add(new SearchNode(nodesById.get(startId), startId, 0.0, null));
+                bestCost.put(startId, 0.0);
+            }
+        }
+
+        public boolean hasNext() {
+            if (next == null && remaining > 0) next = advance();
+            return next != null;
+        }
+
+        public Map.Entry<NodeType, Double> next() {
+            if (!hasNext())
+                throw new NoSuchElementException("No more nodes within the search bounds");
+            Map.Entry<NodeType, Double> result = next;
+            next = null;
+            remaining--;
+            return result;
+        }
+
+        /**
+         * Settles nodes until one matches the predicate.
+         *
+         * @return the matching node and its cost, or null when the search bound was reached
+         */
+        private Map.Entry<NodeType, Double> advance() {
+            while (true) {
+                if (toExpand != null) {
+                    Adjacency leaving = adjacencyById.get(toExpand.id);
+                    for (int i = 0; i < leaving.size; ++i) {
+                        int successorId = leaving.successors[i];
+                        double cost = toExpand.cost + leaving.weights[i];
+                        if (cost <= radius && !visited.contains(successorId)
+                                && cost < bestCost.getOrDefault(successorId,
+                                Double.POSITIVE_INFINITY)) {
+                            bestCost.put(successorId, cost);
+                            listOfNodes.add(new SearchNode(nodesById.get(successorId), successorId,
+                                    cost, toExpand));
+                        }
+                    }
+                    toExpand = null;
+                }
+                if (listOfNodes.isEmpty()) return null;
+
+                SearchNode temp = listOfNodes.remove();
+                int id = temp.id;
+                if (!visited.add(id)) continue; // stale entry
+                toExpand = temp;
+                if (isTarget.test(temp.node.data))
+                    return new AbstractMap.SimpleImmutableEntry<>(temp.node.data, temp.cost);
+            }
+        }
+    }
+
+    /**
+     * Walks the predecessor references back from the end of a path and returns the data along it,
+     * ordered from start to end.
+     *
+     * @param end the SearchNode at the end of the path
+     * @return list of data item from node along this path
+     */
+    protected List<NodeType> pathData(SearchNode end) {
+        LinkedList<NodeType> shortPathList = new LinkedList<>(); // list to hold shortest path data
+        for (SearchNode temp = end; temp != null; temp = temp.predecessor) {
+            shortPathList.addFirst(temp.node.data); // adds to front so start ends up first
+        }
+        return new ArrayList<>(shortPathList);
+    }
+}
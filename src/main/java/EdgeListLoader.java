@@ -0,0 +1,235 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This class streams a delimited edge list (one "predecessor, successor, weight" triple per line,
+ * such as a CSV or TSV file) into a DijkstraGraph.  The file is read through a FileChannel one
+ * fixed size chunk at a time, the lines of each chunk (keys and weights) are parsed in parallel,
+ * and the parsed batch is then inserted into the graph on the calling thread.  Nodes are looked
+ * up in the graph itself rather than in a separate table of keys, so only a chunk's worth of
+ * memory is used beyond the graph.  Inserting still goes through insertNode and insertEdge, which
+ * create the graph's node and edge objects one at a time, so that part is single threaded and
+ * usually limits how many edges per second are loaded; Stats reports the parse and insert times
+ * separately.  Blank lines and lines starting with '#'
+ * are skipped.
+ */
+public class EdgeListLoader<NodeType, EdgeType extends Number> {
+
+    /**
+     * Default number of bytes read from the file per chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Summary of a single call to load: how many edges and new nodes were inserted, and how long
+     * it took, split into the time spent reading and parsing the file and the time spent
+     * inserting into the graph.
+     */
+    public static class Stats {
+        public final long edges;
+        public final long nodes;
+        public final long nanos;
+        public final long parseNanos; // reading chunks and parsing their lines
+        public final long insertNanos; // inserting the parsed nodes and edges into the graph
+
+        public Stats(long edges, long nodes, long nanos, long parseNanos, long insertNanos) {
+            this.edges = edges;
+            this.nodes = nodes;
+            this.nanos = nanos;
+            this.parseNanos = parseNanos;
+            this.insertNanos = insertNanos;
+        }
+
+        /**
+         * @return the number of edges inserted per second of wall time
+         */
+        public double edgesPerSecond() {
+            return nanos == 0 ? 0.0 : edges * 1e9 / nanos;
+        }
+
+        public String toString() {
+            return edges + " edges, " + nodes + " nodes in " + (nanos / 1_000_000) + " ms ("
+                    + (long) edgesPerSecond() + " edges/sec; parse " + (parseNanos / 1_000_000)
+                    + " ms, insert " + (insertNanos / 1_000_000) + " ms)";
+        }
+    }
+
+    /**
+     * One parsed line of the edge list.
+     */
+    private static class ParsedEdge<NodeType, EdgeType> {
+        final NodeType pred;
+        final NodeType succ;
+        final EdgeType weight;
+
+        ParsedEdge(NodeType pred, NodeType succ, EdgeType weight) {
+            this.pred = pred;
+            this.succ = succ;
+            this.weight = weight;
+        }
+    }
+
+    private final char delimiter;
+    private final Function<String, NodeType> keyParser;
+    private final Function<String, EdgeType> weightParser;
+    private final int chunkSize;
+
+    /**
+     * Creates a loader that reads DEFAULT_CHUNK_SIZE bytes at a time.
+     *
+     * @param delimiter    the character separating the columns on each line (',' or '\t')
+     * @param keyParser    converts a key column into the graph's node type, must be safe to call
+     *                     from multiple threads at once
+     * @param weightParser converts the weight column into the graph's edge type, must be safe to
+     *                     call from multiple threads at once
+     */
+    public EdgeListLoader(char delimiter, Function<String, NodeType> keyParser,
+                          Function<String, EdgeType> weightParser) {
+        this(delimiter, keyParser, weightParser, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a loader that reads chunkSize bytes at a time.  No single line of the file may be
+     * longer than chunkSize bytes.
+     *
+     * @param delimiter    the character separating the columns on each line (',' or '\t')
+     * @param keyParser    converts a key column into the graph's node type, must be safe to call
+     *                     from multiple threads at once
+     * @param weightParser converts the weight column into the graph's edge type, must be safe to
+     *                     call from multiple threads at once
+     * @param chunkSize    number of bytes read from the file at a time
+     * @throws IllegalArgumentException when chunkSize is not positive
+     */
+    public EdgeListLoader(char delimiter, Function<String, NodeType> keyParser,
+                          Function<String, EdgeType> weightParser, int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive");
+        this.delimiter = delimiter;
+        this.keyParser = keyParser;
+        this.weightParser = weightParser;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads every edge in the provided file and inserts it, along with any nodes it references
+     * that are not yet in the graph, into the provided graph.
+     *
+     * @param file  the edge list to read
+     * @param graph the graph to insert nodes and edges into
+     * @return the number of edges and nodes inserted and the time it took
+     * @throws IOException              when the file cannot be read, or a line is longer than the
+     *                                  chunk size
+     * @throws IllegalArgumentException when a line does not contain three columns
+     */
+    public Stats load(Path file, DijkstraGraph<NodeType, EdgeType> graph) throws IOException {
+        long startTime = System.nanoTime();
+        long edgeCount = 0;
+        long insertNanos = 0;
+        int nodesBefore = graph.getNodeCount();
+        Map<NodeType, Integer> nodeIds = graph.getNodeIds(); // live view, checked before inserting
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                buffer.flip();
+                // only hand off complete lines, unless there is nothing more to read
+                int end = endOfFile ? buffer.limit() : lastNewline(buffer) + 1;
+                if (end == 0 && !endOfFile) {
+                    if (buffer.limit() == buffer.capacity())
+                        throw new IOException("Line longer than " + chunkSize + " bytes in " + file);
+                    buffer.position(buffer.limit());
+                    buffer.limit(buffer.capacity());
+                    continue;
+                }
+                String text = new String(buffer.array(), 0, end, StandardCharsets.UTF_8);
+                buffer.position(end);
+                buffer.compact(); // carries the partial last line over to the next chunk
+
+                List<ParsedEdge<NodeType, EdgeType>> batch = parseChunk(text);
+                long insertStart = System.nanoTime();
+                for (ParsedEdge<NodeType, EdgeType> edge : batch) {
+                    if (edge == null) continue; // blank or comment line
+                    if (!nodeIds.containsKey(edge.pred)) graph.insertNode(edge.pred);
+                    if (!nodeIds.containsKey(edge.succ)) graph.insertNode(edge.succ);
+                    graph.insertEdge(edge.pred, edge.succ, edge.weight);
+                    edgeCount++;
+                }
+                insertNanos += System.nanoTime() - insertStart;
+            }
+        }
+        long nanos = System.nanoTime() - startTime;
+        return new Stats(edgeCount, graph.getNodeCount() - nodesBefore, nanos,
+                nanos - insertNanos, insertNanos);
+    }
+
+    /**
+     * Finds the lines in a chunk of complete lines and parses them in parallel, straight out of the
+     * chunk's text rather than from a copy of each line.  Entries for blank and comment lines are
+     * left null.
+     */
+    private List<ParsedEdge<NodeType, EdgeType>> parseChunk(String text) {
+        int[] starts = new int[64]; // starts[i] is where line i begins, and where line i - 1 ends
+        int lines = 0;
+        for (int begin = 0; begin < text.length(); ) {
+            if (lines + 1 == starts.length) starts = Arrays.copyOf(starts, 2 * starts.length);
+            starts[lines++] = begin;
+            int newline = text.indexOf('\n', begin);
+            begin = newline < 0 ? text.length() : newline + 1;
+        }
+        starts[lines] = text.length();
+        int[] bounds = starts;
+        return IntStream.range(0, lines).parallel()
+                .mapToObj(i -> parseLine(text, bounds[i], bounds[i + 1]))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parses the line of text between begin and end into its three columns, or returns null when
+     * the line is blank or a comment.
+     */
+    private ParsedEdge<NodeType, EdgeType> parseLine(String text, int begin, int end) {
+        if (end > begin && text.charAt(end - 1) == '\n') end--;
+        if (end > begin && text.charAt(end - 1) == '\r') end--;
+        if (end == begin || text.charAt(begin) == '#') return null;
+
+        int first = text.indexOf(delimiter, begin);
+        int second = first < 0 || first >= end ? -1 : text.indexOf(delimiter, first + 1);
+        if (second < 0 || second >= end)
+            throw new IllegalArgumentException("Expected three columns in line: "
+                    + text.substring(begin, end));
+        return new ParsedEdge<>(keyParser.apply(column(text, begin, first)),
+                keyParser.apply(column(text, first + 1, second)),
+                weightParser.apply(column(text, second + 1, end)));
+    }
+
+    /**
+     * @return the text between begin and end, without leading or trailing whitespace
+     */
+    private static String column(String text, int begin, int end) {
+        while (begin < end && text.charAt(begin) <= ' ') begin++;
+        while (end > begin && text.charAt(end - 1) <= ' ') end--;
+        return text.substring(begin, end);
+    }
+
+    /**
+     * @return the index of the last '\n' between position 0 and the buffer's limit, or -1
+     */
+    private static int lastNewline(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= 0; --i) {
+            if (buffer.get(i) == '\n') return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.Iterator;
+
+/**
+ * An immutable copy of the values in a RedBlackTree, made by RedBlackTree.freeze, that is faster
+ * to search than the tree itself.  Instead of nodes linked by references, the values are stored in
+ * a single array in Eytzinger (breadth first) order: the root of a perfectly balanced tree is at
+ * index 1, and the children of the value at index k are at indexes 2k and 2k+1.  The first levels
+ * of every search share the same few cache lines at the front of the array, and the descent does
+ * not branch on the comparison results, only on the length of the path.
+ * <p>
+ * Changes made to the tree after it was frozen are not seen by this copy.
+ */
+public class FrozenRedBlackTree<T extends Comparable<T>> {
+
+    private final Object[] values; // values[1] to values[size] in Eytzinger order, values[0] unused
+    private final int size;
+
+    /**
+     * Copies the provided values into Eytzinger order.
+     *
+     * @param sortedValues the values to store, in ascending order without duplicates
+     * @param size         the number of values sortedValues will return
+     */
+    protected FrozenRedBlackTree(Iterator<T> sortedValues, int size) {
+        this.size = size;
+        this.values = new Object[size + 1];
+        fill(sortedValues, 1);
+    }
+
+    /**
+     * Fills the subtree rooted at index k by an in-order walk, so that it receives the next values
+     * in ascending order.
+     */
+    private void fill(Iterator<T> sortedValues, int k) {
+        if (k > size) return;
+        fill(sortedValues, 2 * k);
+        values[k] = sortedValues.next();
+        fill(sortedValues, 2 * k + 1);
+    }
+
+    /**
+     * Checks whether this copy contains the value *data*.
+     *
+     * @param data the data value to test for
+     * @return true if *data* is in the tree when it was frozen, false if it is not
+     * @throws NullPointerException when the provided data argument is null
+     */
+    @SuppressWarnings("unchecked")
+    public boolean contains(T data) {
+        if (data == null)
+            throw new NullPointerException("This RedBlackTree cannot store null references.");
+        // walk all the way down, going right past smaller values and left otherwise, so the only
+        // branch is the loop condition; the low bits of k then record the turns that were taken
+        int k = 1;
+        while (k <= size) {
+            k = 2 * k + (data.compareTo((T) values[k]) > 0 ? 1 : 0);
+        }
+        // undo the right turns taken after the last left turn, and that left turn itself, to get
+        // back to the smallest value that is not less than data (or 0 when there is none)
+        k >>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && data.compareTo((T) values[k]) == 0;
+    }
+
+    /**
+     * @return the number of values in this copy
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true when this copy holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
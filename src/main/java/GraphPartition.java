@@ -0,0 +1,178 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Splits a DijkstraGraph into a number of shards, so that each shard can be searched by a separate
+ * ShardWorker process and the results combined by a ShardCoordinator.  Nodes are identified by the
+ * ids the graph gave them.  Shards are grown one at a time by breadth first search over edges in
+ * either direction, so that each one is a connected region of about the same number of nodes and
+ * few edges cross between shards.  A node with an edge to or from another shard is a boundary node
+ * of its shard.
+ * <p>
+ * A partition holds every edge of the graph, so it is only needed while the shards are being
+ * sent to their workers.  A ShardCoordinator copies out the boundary nodes and crossing edges it
+ * needs and does not keep the partition.
+ */
+public class GraphPartition {
+
+    protected final int shardCount;
+    protected final int[] shardOf; // shard of each node id, -1 for ids of removed nodes
+    protected final int[][] shardNodes; // node ids in each shard
+    protected final int[][] boundaryNodes; // boundary node ids of each shard
+    protected final int[] edgeFrom; // every edge in the graph, as parallel arrays
+    protected final int[] edgeTo;
+    protected final double[] edgeWeight;
+
+    /**
+     * Partitions the provided graph into shardCount shards.
+     *
+     * @param graph      the graph to partition
+     * @param shardCount the number of shards
+     * @throws IllegalArgumentException when shardCount is not positive
+     */
+    public GraphPartition(DijkstraGraph<?, ?> graph, int shardCount) {
+        if (shardCount <= 0)
+            throw new IllegalArgumentException("shardCount must be positive");
+        Collection<Integer> nodeIds = graph.getNodeIds().values();
+        this.shardCount = shardCount;
+
+        int[][] successors = graph.successorIds();
+        double[][] weights = graph.successorWeights();
+        int n = successors.length;
+
+        // flatten the edges, and collect the neighbors of each node in both directions
+        int edgeCount = 0;
+        for (int[] leaving : successors) {
+            edgeCount += leaving.length;
+        }
+        edgeFrom = new int[edgeCount];
+        edgeTo = new int[edgeCount];
+        edgeWeight = new double[edgeCount];
+        List<List<Integer>> neighbors = new ArrayList<>();
+        for (int u = 0; u < n; ++u) {
+            neighbors.add(new ArrayList<>());
+        }
+        int e = 0;
+        for (int u = 0; u < n; ++u) {
+            for (int i = 0; i < successors[u].length; ++i, ++e) {
+                edgeFrom[e] = u;
+                edgeTo[e] = successors[u][i];
+                edgeWeight[e] = weights[u][i];
+                neighbors.get(u).add(successors[u][i]);
+                neighbors.get(successors[u][i]).add(u);
+            }
+        }
+
+        // grow each shard by breadth first search until it holds its share of the nodes
+        boolean[] live = new boolean[n]; // false for ids of removed nodes
+        for (int id : nodeIds) {
+            live[id] = true;
+        }
+        shardOf = new int[n];
+        Arrays.fill(shardOf, -1);
+        int capacity = Math.max(1, (nodeIds.size() + shardCount - 1) / shardCount);
+        int[] sizes = new int[shardCount];
+        int shard = 0;
+        LinkedList<Integer> queue = new LinkedList<>();
+        for (int root = 0; root < n; ++root) {
+            if (shardOf[root] != -1 || !live[root]) continue;
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                int u = queue.removeFirst();
+                if (shardOf[u] != -1) continue;
+                if (sizes[shard] == capacity && shard + 1 < shardCount) {
+                    shard++; // this shard is full, start the next one from here
+                    queue.clear();
+                }
+                shardOf[u] = shard;
+                sizes[shard]++;
+                for (int v : neighbors.get(u)) {
+                    if (shardOf[v] == -1) queue.add(v);
+                }
+            }
+        }
+
+        // boundary nodes have an edge crossing between shards
+        boolean[] isBoundary = new boolean[n];
+        for (int i = 0; i < edgeCount; ++i) {
+            if (shardOf[edgeFrom[i]] != shardOf[edgeTo[i]]) {
+                isBoundary[edgeFrom[i]] = true;
+                isBoundary[edgeTo[i]] = true;
+            }
+        }
+        shardNodes = new int[shardCount][];
+        boundaryNodes = new int[shardCount][];
+        for (int s = 0; s < shardCount; ++s) {
+            final int current = s;
+            shardNodes[s] = IntStream.range(0, n)
+                    .filter(u -> shardOf[u] == current).toArray();
+            boundaryNodes[s] = Arrays.stream(shardNodes[s]).filter(u -> isBoundary[u]).toArray();
+        }
+    }
+
+    /**
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return the shard that the node with the provided id belongs to, -1 for a removed node
+     */
+    public int getShard(int id) {
+        return shardOf[id];
+    }
+
+    /**
+     * @return the ids of the nodes in the provided shard
+     */
+    public int[] getShardNodes(int shard) {
+        return shardNodes[shard].clone();
+    }
+
+    /**
+     * @return the ids of the boundary nodes of the provided shard
+     */
+    public int[] getBoundaryNodes(int shard) {
+        return boundaryNodes[shard].clone();
+    }
+
+    /**
+     * Writes everything a ShardWorker needs to know about one shard: its nodes, its boundary
+     * nodes, and the edges between its nodes.
+     *
+     * @param shard the shard to write
+     * @param out   where to write it
+     * @throws IOException when writing fails
+     */
+    public void writeShard(int shard, DataOutputStream out) throws IOException {
+        out.writeInt(shardNodes[shard].length);
+        for (int u : shardNodes[shard]) {
+            out.writeInt(u);
+        }
+        out.writeInt(boundaryNodes[shard].length);
+        for (int u : boundaryNodes[shard]) {
+            out.writeInt(u);
+        }
+        int internal = 0;
+        for (int i = 0; i < edgeFrom.length; ++i) {
+            if (shardOf[edgeFrom[i]] == shard && shardOf[edgeTo[i]] == shard) internal++;
+        }
+        out.writeInt(internal);
+        for (int i = 0; i < edgeFrom.length; ++i) {
+            if (shardOf[edgeFrom[i]] == shard && shardOf[edgeTo[i]] == shard) {
+                out.writeInt(edgeFrom[i]);
+                out.writeInt(edgeTo[i]);
+                out.writeDouble(edgeWeight[i]);
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Answers "is there any path from node u to node v" in constant time for a directed graph whose
+ * nodes are numbered 0 to n-1.  The graph's strongly connected components are found with
+ * Tarjan's algorithm, and every component of the resulting condensation DAG is labelled with a
+ * bitset of all of the components it can reach (including itself).  The labels take O(c^2) bits
+ * for c components.
+ * <p>
+ * Inserting an edge updates the labels in place, and inserting a node returns an index that
+ * takes them over.  Removals, and edge insertions that would merge components into a cycle, mark
+ * the index stale instead, and the owner is expected to rebuild it from the graph before it is
+ * queried again.  Queries do not modify the index, so any number of threads may query it at once.
+ */
+public class ReachabilityIndex {
+
+    private final int[] componentOf; // component id of each node
+    private final ArrayList<BitSet> reaches; // components each one can reach
+    private boolean stale = false;
+
+    /**
+     * Builds the index for the provided graph.
+     *
+     * @param successors successors[u] holds the nodes that have an edge from u
+     */
+    public ReachabilityIndex(int[][] successors) {
+        int n = successors.length;
+        componentOf = new int[n];
+        reaches = new ArrayList<>();
+        Arrays.fill(componentOf, -1);
+
+        // iterative Tarjan: components are completed sinks first, so every component another
+        // one has an edge to is already labelled when that one is completed
+        int[] order = new int[n]; // discovery order of each node, -1 when not yet discovered
+        int[] low = new int[n];
+        int[] nextEdge = new int[n];
+        int[] callStack = new int[n];
+        int[] componentStack = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(order, -1);
+        int counter = 0;
+        int stackSize = 0;
+
+        for (int root = 0; root < n; ++root) {
+            if (order[root] != -1) continue;
+            int depth = 0;
+            callStack[depth++] = root;
+            order[root] = low[root] = counter++;
+            componentStack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int u = callStack[depth - 1];
+                if (nextEdge[u] < successors[u].length) {
+                    int v = successors[u][nextEdge[u]++];
+                    if (order[v] == -1) {
+                        order[v] = low[v] = counter++;
+                        componentStack[stackSize++] = v;
+                        onStack[v] = true;
+                        callStack[depth++] = v;
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], order[v]);
+                    }
+                    continue;
+                }
+
+                // every edge from u has been explored
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[u]);
+                }
+                if (low[u] == order[u]) { // u is the root of a component
+                    int component = reaches.size();
+                    int start = stackSize;
+                    do {
+                        start--;
+                        onStack[componentStack[start]] = false;
+                        componentOf[componentStack[start]] = component;
+                    } while (componentStack[start] != u);
+
+                    BitSet reach = new BitSet();
+                    reach.set(component);
+                    for (int i = start; i < stackSize; ++i) {
+                        for (int v : successors[componentStack[i]]) {
+                            if (componentOf[v] != component) reach.or(reaches.get(componentOf[v]));
+                        }
+                    }
+                    reaches.add(reach);
+                    stackSize = start;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true when from has a path to to, or when they are the same node
+     * @throws IllegalStateException when the index is stale and needs to be rebuilt first
+     */
+    public boolean canReach(int from, int to) {
+        if (stale)
+            throw new IllegalStateException("ReachabilityIndex must be rebuilt before querying");
+        return reaches.get(componentOf[from]).get(componentOf[to]);
+    }
+
+    /**
+     * Takes over an index's labels, with room for one more node.
+     */
+    private ReachabilityIndex(ReachabilityIndex previous) {
+        componentOf = Arrays.copyOf(previous.componentOf, previous.componentOf.length + 1);
+        reaches = previous.reaches;
+        stale = previous.stale;
+    }
+
+    /**
+     * Adds a new node, with no edges, numbered one past the largest existing node.  This index
+     * must not be used afterwards, as the returned one shares its labels.
+     *
+     * @return the index for the graph with the new node
+     */
+    public ReachabilityIndex withNode() {
+        ReachabilityIndex index = new ReachabilityIndex(this);
+        index.componentOf[componentOf.length] = reaches.size();
+        BitSet reach = new BitSet();
+        reach.set(reaches.size());
+        reaches.add(reach);
+        return index;
+    }
+
+    /**
+     * Updates the index for a new edge from one node to another.  Every component that could
+     * already reach from's component can now also reach everything to's component reaches.  When
+     * to can already reach from, the edge closes a cycle that merges components, and the index is
+     * marked stale instead.
+     *
+     * @param from the predecessor of the new edge
+     * @param to   the successor of the new edge
+     */
+    public void addEdge(int from, int to) {
+        if (stale) return;
+        int fromComponent = componentOf[from];
+        int toComponent = componentOf[to];
+        BitSet toReach = reaches.get(toComponent);
+        if (reaches.get(fromComponent).get(toComponent)) return; // nothing new is reachable
+        if (toReach.get(fromComponent)) {
+            stale = true;
+            return;
+        }
+        for (BitSet reach : reaches) {
+            if (reach.get(fromComponent)) reach.or(toReach);
+        }
+    }
+
+    /**
+     * Marks this index as out of date, after an edge or node was removed from the graph.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * @return true when the index no longer matches the graph and must be rebuilt
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * @return the number of strongly connected components when the index was last updated
+     */
+    public int getComponentCount() {
+        return reaches.size();
+    }
+}
@@ -0,0 +1,914 @@
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Stack;
+
+/**
+ * Red-Black Tree implementation with a Node inner class for representing the nodes of the tree.
+ * Currently, this implements a Binary Search Tree that we will turn into a red black tree by
+ * modifying the insert functionality. In this activity, we will start with implementing rotations
+ * for the binary search tree insert algorithm.
+ */
+public class RedBlackTree<T extends Comparable<T>> implements SortedCollectionInterface<T> {
+
+    /**
+     * This class represents a node holding a single value within a binary tree.
+     */
+    protected static class Node<T> {
+        public int blackHeight; // this tracks black height for current node
+        // 0 = red, 1 = black, 2 = double black
+        public T data;
+        public int height = 1; // number of nodes on the longest path down from this node
+        // The context array stores the context of the node in the tree:
+        // - context[0] is the parent reference of the node,
+        // - context[1] is the left child reference of the node,
+        // - context[2] is the right child reference of the node.
+        // The @SupressWarning("unchecked") annotation is used to supress an unchecked
+        // cast warning. Java only allows us to instantiate arrays without generic
+        // type parameters, so we use this cast here to avoid future casts of the
+        // node type's data field.
+        @SuppressWarnings("unchecked")
+        public Node<T>[] context = (Node<T>[]) new Node[3];
+
+        public Node(T data) {
+            this.data = data;
+            this.blackHeight = 0;
+        }
+
+
+        /**
+         * @return true when this node has a parent and is the right child of that parent, otherwise
+         * return false
+         */
+        public boolean isRightChild() {
+            return context[0] != null && context[0].context[2] == this;
+        }
+
+    }
+
+    protected Node<T> root; // reference to root node of tree, null when empty
+    protected int size = 0; // the number of values in the tree
+
+    // running counts of the work done to keep this tree balanced, and to search it
+    protected long rotations = 0; // number of calls to rotate
+    protected long recolors = 0; // number of times a node's color was changed while rebalancing
+    protected long lookups = 0; // number of calls to findNodeWithData
+    protected long lookupComparisons = 0; // compareTo calls made by all of those lookups
+    protected int lastLookupComparisons = 0; // compareTo calls made by the most recent lookup
+
+    /**
+     * Performs a naive insertion into a binary search tree: adding the input data value to a new
+     * node in a leaf position within the tree. After this insertion, no attempt is made to
+     * restructure or balance the tree. This tree will not hold null references, nor duplicate data
+     * values.
+     *
+     * @param data to be added into this binary search tree
+     * @return true if the value was inserted, false if not
+     * @throws NullPointerException     when the provided data argument is null
+     * @throws IllegalArgumentException when data is already contained in the tree
+     */
+    public boolean insert(T data) throws NullPointerException, IllegalArgumentException {
+        // null references cannot be stored within this tree
+        if (data == null)
+            throw new NullPointerException("This RedBlackTree cannot store null references.");
+
+        Node<T> newNode = new Node<>(data);
+        if (this.root == null) {
+            // add first node to an empty tree
+            root = newNode;
+            size++;
+            enforceRBTreePropertiesAfterInsert(newNode);
+            return true;
+        } else {
+            // insert into subtree
+            Node<T> current = this.root;
+            while (true) {
+                int compare = newNode.data.compareTo(current.data);
+                if (compare == 0) {
+                    throw new IllegalArgumentException("This RedBlackTree already contains value "
+                            + data.toString());
+                } else if (compare < 0) {
+                    // insert in left subtree
+                    if (current.context[1] == null) {
+                        // empty space to insert into
+                        current.context[1] = newNode;
+                        newNode.context[0] = current;
+                        updateHeightsFrom(current);
+                        this.size++;
+                        enforceRBTreePropertiesAfterInsert(newNode);
+                        return true;
+                    } else {
+                        // no empty space, keep moving down the tree
+                        current = current.context[1];
+                    }
+                } else {
+                    // insert in right subtree
+                    if (current.context[2] == null) {
+                        // empty space to insert into
+                        current.context[2] = newNode;
+                        newNode.context[0] = current;
+                        updateHeightsFrom(current);
+                        this.size++;
+                        enforceRBTreePropertiesAfterInsert(newNode);
+                        return true;
+                    } else {
+                        // no empty space, keep moving down the tree
+                        current = current.context[2];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Performs the rotation operation on the provided nodes within this tree. When the provided
+     * child is a left child of the provided parent, this method will perform a right rotation. When
+     * the provided child is a right child of the provided parent, this method will perform a left
+     * rotation. When the provided nodes are not related in one of these ways, this method will
+     * throw an IllegalArgumentException.
+     *
+     * @param child  is the node being rotated from child to parent position (between these two node
+     *               arguments)
+     * @param parent is the node being rotated from parent to child position (between these two node
+     *               arguments)
+     * @throws IllegalArgumentException when the provided child and parent node references are not
+     *                                  initially (pre-rotation) related that way
+     */
+    private void rotate(Node<T> child, Node<T> parent) throws IllegalArgumentException {
+        if (!child.context[0].data.equals(parent.data))
+            throw new IllegalArgumentException("parent and child are not related");
+        rotations++;
+
+        // a right child rotates left, and a left child rotates right
+        int childSide = child.isRightChild() ? 2 : 1;
+        int otherSide = 3 - childSide;
+        Node<T> grandparent = parent.context[0];
+
+        // the child's subtree on the parent's side moves over to become the parent's child
+        parent.context[childSide] = child.context[otherSide];
+        if (child.context[otherSide] != null) child.context[otherSide].context[0] = parent;
+
+        // the child takes the parent's place under the grandparent (or as the root)
+        child.context[0] = grandparent;
+        if (grandparent == null) {
+            root = child; // sets child as new root
+        } else if (grandparent.context[2] == parent) {
+            grandparent.context[2] = child;
+        } else {
+            grandparent.context[1] = child;
+        }
+
+        // and the parent becomes the child's child
+        child.context[otherSide] = parent;
+        parent.context[0] = child;
+
+        // only the two rotated nodes have new subtrees, and above them only the height can change
+        updateHeight(parent);
+        updateHeight(child);
+        updateHeightsFrom(grandparent);
+    }
+
+    /**
+     * @return the height of the subtree rooted at node, 0 for a null leaf
+     */
+    private static int heightOf(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Sets the height of node from the heights of its children.
+     */
+    private static void updateHeight(Node<?> node) {
+        node.height = 1 + Math.max(heightOf(node.context[1]), heightOf(node.context[2]));
+    }
+
+    /**
+     * Updates the heights of node and its ancestors after the subtree below node changed, stopping
+     * at the first one whose height stays the same, since nothing above it can change either.
+     *
+     * @param node the lowest node whose subtree changed, or null
+     */
+    private void updateHeightsFrom(Node<T> node) {
+        for (; node != null; node = node.context[0]) {
+            int before = node.height;
+            updateHeight(node);
+            if (node.height == before) return;
+        }
+    }
+
+    protected void enforceRBTreePropertiesAfterInsert(Node<T> newNode) {
+        if (this.root.data.equals(newNode.data)) {
+            recolor(newNode, 1);
+        } else if (newNode.context[0].blackHeight == 1) {
+            return;  //parent of new node is black, no change is needed
+        }
+        // parent of new node is red:
+        else if (newNode.context[0].blackHeight == 0) {
+            if (newNode.context[0].isRightChild()) { // if parent is RC we want to look at G's LC
+                if (newNode.context[0].context[0].context[1] == null || newNode.context[0].context[0].context[1].blackHeight == 1) { // Aunt LC and is black or
+                    // null,
+                    if (!newNode.isRightChild()) { // if newNode is a LC need to rotate first
+                        rotate(newNode, newNode.context[0]);
+                        rotate(newNode, newNode.context[0]); // rotate again
+                        recolor(newNode, 1); // makes new node black
+                        recolor(newNode.context[1], 0); // makes old grandparent red
+                        // new node is black in grandparent's old spot, so nothing above changes
+                    } else {
+
+                        rotate(newNode.context[0], newNode.context[0].context[0]);// rotate at
+                        // grandparent
+
+                        recolor(newNode.context[0].context[1], 0);// make old grandparent red
+                        recolor(newNode.context[0], 1);// make parent black
+                        // parent is black in grandparent's old spot, so nothing above changes
+                    }
+                } else { // Aunt is LC and is red
+                    // recolor grandparent to red and parent and aunt to black
+                    recolor(newNode.context[0].context[0], 0); // makes grandparent red
+                    recolor(newNode.context[0], 1); // make parent black
+                    if (newNode.context[0].context[0].context[1] != null) { // if Aunt isn't null
+                        recolor(newNode.context[0].context[0].context[1], 1); // make Aunt black
+                    }
+                    // recursive call using grandparent node to make sure that grandparent isn't
+                    // breaking
+                    // properties
+                    enforceRBTreePropertiesAfterInsert(newNode.context[0].context[0]);
+                }
+            } else // we want to look at G's RC
+                if (newNode.context[0].context[0].context[2] == null || newNode.context[0].context[0].context[2].blackHeight == 1) { // Aunt  RC and is black or null
+                    // rotate at grandparent
+                    if (newNode.isRightChild()) {
+                        rotate(newNode, newNode.context[0]); // rotate to put new node above parent
+                        rotate(newNode, newNode.context[0]); // rotate again to put new node as root
+                        recolor(newNode, 1); // makes new node black
+                        recolor(newNode.context[2], 0); // makes old grandparent red
+                        // new node is black in grandparent's old spot, so nothing above changes
+                    } else { // new node is LC
+                        rotate(newNode.context[0], newNode.context[0].context[0]);
+                        recolor(newNode.context[0].context[2], 0);// make grandparent red
+                        recolor(newNode.context[0], 1); // make parent black
+                        // parent is black in grandparent's old spot, so nothing above changes
+                    }
+
+                } else { // Aunt is RC and is red
+                    // recolor grandparent to red and parent and aunt to black
+                    recolor(newNode.context[0].context[0], 0); // makes grandparent red
+                    recolor(newNode.context[0], 1); // make parent black
+                    recolor(newNode.context[0].context[0].context[2], 1); // make Aunt black
+                    // recursive call using grandparent node to make sure that grandparent isn't
+                    // breaking properties
+                    enforceRBTreePropertiesAfterInsert(newNode.context[0].context[0]);
+                }
+        }
+        if (this.root.data.equals(newNode.data)) {
+            recolor(newNode, 1);
+        }
+    }
+
+    /**
+     * Sets the color of the provided node, counting the change when it differs from the node's
+     * current color.
+     *
+     * @param node        the node to recolor
+     * @param blackHeight the node's new color: 0 = red, 1 = black
+     */
+    private void recolor(Node<T> node, int blackHeight) {
+        if (node.blackHeight != blackHeight) {
+            node.blackHeight = blackHeight;
+            recolors++;
+        }
+    }
+
+    /**
+     * Get the size of the tree (its number of nodes).
+     *
+     * @return the number of nodes in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method to check if the tree is empty (does not contain any node).
+     *
+     * @return true of this.size() return 0, false if this.size() > 0
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Removes the value data from the tree if the tree contains the value, and then restores the
+     * red-black tree properties.
+     *
+     * @return true if the value was remove, false if it didn't exist
+     * @throws NullPointerException     when the provided data argument is null
+     * @throws IllegalArgumentException when data is not stored in the tree
+     */
+    public boolean remove(T data) throws NullPointerException, IllegalArgumentException {
+        // null references will not be stored within this tree
+        if (data == null) {
+            throw new NullPointerException("This RedBlackTree cannot store null references.");
+        } else {
+            Node<T> nodeWithData = this.findNodeWithData(data);
+            // throw exception if node with data does not exist
+            if (nodeWithData == null) {
+                throw new IllegalArgumentException("The following value is not in the tree and " + "cannot be deleted: " + data.toString());
+            }
+            this.removeNode(nodeWithData);
+            return true;
+        }
+    }
+
+    /**
+     * Helper method that removes the value stored in a node from the tree, and rebalances the tree
+     * afterwards.
+     *
+     * @param nodeWithData the node holding the value to remove
+     */
+    protected void removeNode(Node<T> nodeWithData) {
+        boolean hasRightChild = (nodeWithData.context[2] != null);
+        boolean hasLeftChild = (nodeWithData.context[1] != null);
+        if (hasRightChild && hasLeftChild) {
+            // has 2 children: replace value of node with value of successor node, and remove the
+            // successor node instead, which has no left child
+            Node<T> successorNode = this.findMinOfRightSubtree(nodeWithData);
+            nodeWithData.data = successorNode.data;
+            nodeWithData = successorNode;
+        }
+        Node<T> child = (nodeWithData.context[1] != null) ? nodeWithData.context[1]
+                : nodeWithData.context[2];
+        if (child != null) {
+            // a node with one child is black and its child is red, so the child takes its place
+            // and becomes black
+            this.replaceNode(nodeWithData, child);
+            updateHeightsFrom(child.context[0]);
+            recolor(child, 1);
+        } else {
+            // a black leaf leaves its path one black node short, so fix that while it is still
+            // in the tree, and then replace it with a null node
+            if (nodeWithData.blackHeight == 1) enforceRBTreePropertiesAfterRemove(nodeWithData);
+            Node<T> parent = nodeWithData.context[0]; // after any rotations while rebalancing
+            this.replaceNode(nodeWithData, null);
+            updateHeightsFrom(parent);
+        }
+        this.size--;
+    }
+
+    /**
+     * Removes the extra black from a double black node: a black node whose paths are one black
+     * node shorter than the paths through its sibling.  The extra black is either moved up to the
+     * parent, or ended by recoloring and rotating around the sibling.
+     *
+     * @param doubleBlack the node whose paths are one black node short
+     */
+    protected void enforceRBTreePropertiesAfterRemove(Node<T> doubleBlack) {
+        doubleBlack.blackHeight = 2;
+        while (doubleBlack != this.root && doubleBlack.blackHeight == 2) {
+            Node<T> parent = doubleBlack.context[0];
+            int side = doubleBlack.isRightChild() ? 2 : 1; // side of the double black node
+            int otherSide = 3 - side;
+            Node<T> sibling = parent.context[otherSide]; // never null, its paths are longer
+
+            if (sibling.blackHeight == 0) {
+                // red sibling: rotate it above the parent, so that the sibling is black
+                recolor(sibling, 1);
+                recolor(parent, 0);
+                rotate(sibling, parent);
+                sibling = parent.context[otherSide];
+            }
+            Node<T> near = sibling.context[side]; // sibling's child closest to the double black
+            Node<T> far = sibling.context[otherSide];
+
+            if (isBlack(near) && isBlack(far)) {
+                // black sibling with black children: make the sibling red, and move the extra
+                // black up to the parent, where a red parent absorbs it
+                recolor(sibling, 0);
+                doubleBlack.blackHeight = 1;
+                if (parent.blackHeight == 0) {
+                    recolor(parent, 1);
+                } else {
+                    parent.blackHeight = 2;
+                    doubleBlack = parent;
+                }
+                continue;
+            }
+            if (isBlack(far)) {
+                // only the near child is red: rotate it above the sibling, so the far one is red
+                recolor(near, 1);
+                recolor(sibling, 0);
+                rotate(near, sibling);
+                far = sibling;
+                sibling = near;
+            }
+            // black sibling with a red far child: rotate the sibling above the parent, which adds
+            // a black node to the double black node's paths
+            recolor(sibling, parent.blackHeight);
+            recolor(parent, 1);
+            recolor(far, 1);
+            rotate(sibling, parent);
+            doubleBlack.blackHeight = 1;
+        }
+        this.root.blackHeight = 1; // the root absorbs any extra black
+    }
+
+    /**
+     * @return true when the provided node is black, including null leaves
+     */
+    private static boolean isBlack(Node<?> node) {
+        return node == null || node.blackHeight != 0;
+    }
+
+    /**
+     * Checks whether the tree contains the value *data*.
+     *
+     * @param data the data value to test for
+     * @return true if *data* is in the tree, false if it is not in the tree
+     */
+    public boolean contains(T data) {
+        // null references will not be stored within this tree
+        if (data == null) {
+            throw new NullPointerException("This RedBlackTree cannot store null references.");
+        } else {
+            Node<T> nodeWithData = this.findNodeWithData(data);
+            // return false if the node is null, true otherwise
+            return (nodeWithData != null);
+        }
+    }
+
+    /**
+     * Returns the greatest value in the tree that is less than or equal to *data*.
+     *
+     * @param data the value to search for
+     * @return the greatest value <= data, or null when there is no such value
+     * @throws NullPointerException when the provided data argument is null
+     */
+    public T floor(T data) {
+        return dataOf(findNearestNode(data, true, true));
+    }
+
+    /**
+     * Returns the smallest value in the tree that is greater than or equal to *data*.
+     *
+     * @param data the value to search for
+     * @return the smallest value >= data, or null when there is no such value
+     * @throws NullPointerException when the provided data argument is null
+     */
+    public T ceiling(T data) {
+        return dataOf(findNearestNode(data, false, true));
+    }
+
+    /**
+     * Returns the smallest value in the tree that is strictly greater than *data*.
+     *
+     * @param data the value to search for
+     * @return the smallest value > data, or null when there is no such value
+     * @throws NullPointerException when the provided data argument is null
+     */
+    public T higher(T data) {
+        return dataOf(findNearestNode(data, false, false));
+    }
+
+    /**
+     * Returns the greatest value in the tree that is strictly less than *data*.
+     *
+     * @param data the value to search for
+     * @return the greatest value < data, or null when there is no such value
+     * @throws NullPointerException when the provided data argument is null
+     */
+    public T lower(T data) {
+        return dataOf(findNearestNode(data, true, false));
+    }
+
+    /**
+     * @return the smallest value in the tree
+     * @throws NoSuchElementException when the tree is empty
+     */
+    public T first() {
+        if (this.root == null) throw new NoSuchElementException("This RedBlackTree is empty.");
+        return findEndNode(1).data;
+    }
+
+    /**
+     * @return the greatest value in the tree
+     * @throws NoSuchElementException when the tree is empty
+     */
+    public T last() {
+        if (this.root == null) throw new NoSuchElementException("This RedBlackTree is empty.");
+        return findEndNode(2).data;
+    }
+
+    /**
+     * Removes the smallest value from the tree, and rebalances the tree afterwards.
+     *
+     * @return the value that was removed, or null when the tree is empty
+     */
+    public T pollFirst() {
+        return pollEnd(1);
+    }
+
+    /**
+     * Removes the greatest value from the tree, and rebalances the tree afterwards.
+     *
+     * @return the value that was removed, or null when the tree is empty
+     */
+    public T pollLast() {
+        return pollEnd(2);
+    }
+
+    private T pollEnd(int side) {
+        if (this.root == null) return null;
+        Node<T> end = findEndNode(side);
+        T data = end.data;
+        this.removeNode(end);
+        return data;
+    }
+
+    private static <T> T dataOf(Node<T> node) {
+        return node == null ? null : node.data;
+    }
+
+    /**
+     * Helper method that follows child references on one side from the root as far as possible.
+     *
+     * @param side 1 to find the node with the smallest value, 2 for the greatest value
+     * @return the node at the end of that path, or null when the tree is empty
+     */
+    protected Node<T> findEndNode(int side) {
+        Node<T> current = this.root;
+        while (current != null && current.context[side] != null) {
+            current = current.context[side];
+        }
+        return current;
+    }
+
+    /**
+     * Helper method that returns the node holding the closest value to *data* on one side of it,
+     * in a single walk down the tree.
+     *
+     * @param data      the value to search for
+     * @param below     true to look for values less than data, false for values greater than it
+     * @param inclusive true when a node holding data itself should be returned
+     * @return the node holding the closest such value, or null when there is none
+     * @throws NullPointerException when the provided data argument is null
+     */
+    protected Node<T> findNearestNode(T data, boolean below, boolean inclusive) {
+        if (data == null)
+            throw new NullPointerException("This RedBlackTree cannot store null references.");
+        Node<T> nearest = null;
+        Node<T> current = this.root;
+        while (current != null) {
+            int compare = data.compareTo(current.data);
+            if (compare == 0 && inclusive) {
+                return current;
+            } else if (below ? compare > 0 : compare < 0) {
+                // current is on the requested side of data; anything closer is in its subtree
+                // on the side facing data
+                nearest = current;
+                current = current.context[below ? 2 : 1];
+            } else {
+                // current is on the wrong side of data (or is data), keep looking past it
+                current = current.context[below ? 1 : 2];
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Helper method that will replace a node with a replacement node. The replacement node may be
+     * null to remove the node from the tree.
+     *
+     * @param nodeToReplace   the node to replace
+     * @param replacementNode the replacement for the node (may be null)
+     */
+    protected void replaceNode(Node<T> nodeToReplace, Node<T> replacementNode) {
+        if (nodeToReplace == null) {
+            throw new NullPointerException("Cannot replace null node.");
+        }
+        if (nodeToReplace.context[0] == null) {
+            // we are replacing the root
+            if (replacementNode != null) replacementNode.context[0] = null;
+            this.root = replacementNode;
+        } else {
+            // set the parent of the replacement node
+            if (replacementNode != null) replacementNode.context[0] = nodeToReplace.context[0];
+            // do we have to attach a new left or right child to our parent?
+            if (nodeToReplace.isRightChild()) {
+                nodeToReplace.context[0].context[2] = replacementNode;
+            } else {
+                nodeToReplace.context[0].context[1] = replacementNode;
+            }
+        }
+    }
+
+    /**
+     * Helper method that will return the inorder successor of a node with two children.
+     *
+     * @param node the node to find the successor for
+     * @return the node that is the inorder successor of node
+     */
+    protected Node<T> findMinOfRightSubtree(Node<T> node) {
+        if (node.context[1] == null && node.context[2] == null) {
+            throw new IllegalArgumentException("Node must have two children");
+        }
+        // take a steop to the right
+        Node<T> current = node.context[2];
+        while (true) {
+            // then go left as often as possible to find the successor
+            if (current.context[1] == null) {
+                // we found the successor
+                return current;
+            } else {
+                current = current.context[1];
+            }
+        }
+    }
+
+    /**
+     * Helper method that will return the node in the tree that contains a specific value. Returns
+     * null if there is no node that contains the value.
+     *
+     * @return the node that contains the data, or null of no such node exists
+     */
+    protected Node<T> findNodeWithData(T data) {
+        Node<T> current = this.root;
+        int comparisons = 0;
+        lookups++;
+        while (current != null) {
+            int compare = data.compareTo(current.data);
+            comparisons++;
+            if (compare == 0) {
+                // we found our value
+                countLookupComparisons(comparisons);
+                return current;
+            } else if (compare < 0) {
+                // keep looking in the left subtree
+                current = current.context[1];
+            } else {
+                // keep looking in the right subtree
+                current = current.context[2];
+            }
+        }
+        // we're at a null node and did not find data, so it's not in the tree
+        countLookupComparisons(comparisons);
+        return null;
+    }
+
+    private void countLookupComparisons(int comparisons) {
+        lastLookupComparisons = comparisons;
+        lookupComparisons += comparisons;
+    }
+
+    /**
+     * This method performs an inorder traversal of the tree. The string representations of each
+     * data value within this tree are assembled into a comma separated string within brackets
+     * (similar to many implementations of java.util.Collection, like java.util.ArrayList,
+     * LinkedList, etc).
+     *
+     * @return string containing the ordered values of this tree (in-order traversal)
+     */
+    public String toInOrderString() {
+        // generate a string of all values of the tree in (ordered) in-order
+        // traversal sequence
+        StringBuffer sb = new StringBuffer();
+        sb.append("[ ");
+        if (this.root != null) {
+            Stack<Node<T>> nodeStack = new Stack<>();
+            Node<T> current = this.root;
+            while (!nodeStack.isEmpty() || current != null) {
+                if (current == null) {
+                    Node<T> popped = nodeStack.pop();
+                    sb.append(popped.data.toString());
+                    if (!nodeStack.isEmpty() || popped.context[2] != null) sb.append(", ");
+                    current = popped.context[2];
+                } else {
+                    nodeStack.add(current);
+                    current = current.context[1];
+                }
+            }
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+    /**
+     * This method performs a level order traversal of the tree. The string representations of each
+     * data value within this tree are assembled into a comma separated string within brackets
+     * (similar to many implementations of java.util.Collection). This method will be helpful as a
+     * helper for the debugging and testing of your rotation implementation.
+     *
+     * @return string containing the values of this tree in level order
+     */
+    public String toLevelOrderString() {
+        StringBuffer sb = new StringBuffer();
+        sb.append("[ ");
+        if (this.root != null) {
+            LinkedList<Node<T>> q = new LinkedList<>();
+            q.add(this.root);
+            while (!q.isEmpty()) {
+                Node<T> next = q.removeFirst();
+                if (next.context[1] != null) q.add(next.context[1]);
+                if (next.context[2] != null) q.add(next.context[2]);
+                sb.append(next.data.toString());
+                if (!q.isEmpty()) sb.append(", ");
+            }
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+    public String toString() {
+        return "level order: " + this.toLevelOrderString() + "\nin order: " + this.toInOrderString();
+    }
+
+    /**
+     * Returns an iterator over the values of this tree in ascending (in-order) order. It holds one
+     * root to leaf path at a time, and must not be used after the tree has been modified.
+     *
+     * @return iterator over the values of this tree, smallest first
+     */
+    protected Iterator<T> inOrderIterator() {
+        Stack<Node<T>> nodeStack = new Stack<>();
+        for (Node<T> current = this.root; current != null; current = current.context[1]) {
+            nodeStack.add(current);
+        }
+        return new Iterator<T>() {
+            public boolean hasNext() {
+                return !nodeStack.isEmpty();
+            }
+
+            public T next() {
+                if (nodeStack.isEmpty()) throw new NoSuchElementException();
+                Node<T> popped = nodeStack.pop();
+                for (Node<T> current = popped.context[2]; current != null;
+                     current = current.context[1]) {
+                    nodeStack.add(current);
+                }
+                return popped.data;
+            }
+        };
+    }
+
+    /**
+     * Replaces the contents of this tree with the provided values, building the tree directly in
+     * its final shape in O(n) time instead of inserting and rebalancing each value. Every subtree
+     * splits its values evenly, so all levels but the deepest are complete; the nodes on an
+     * incomplete deepest level are red and all others are black.
+     *
+     * @param sortedValues the values to store, in ascending order without duplicates
+     * @param size         the number of values sortedValues will return
+     */
+    protected void buildFromSorted(Iterator<T> sortedValues, int size) {
+        // the deepest level is at depth floor(log2(size)), and is complete when size + 1 is a
+        // power of two, in which case this is one level deeper than any node
+        int redLevel = 31 - Integer.numberOfLeadingZeros(size + 1);
+        this.root = buildSubtree(sortedValues, size, 0, redLevel);
+        this.size = size;
+    }
+
+    private Node<T> buildSubtree(Iterator<T> sortedValues, int count, int level, int redLevel) {
+        if (count == 0) return null;
+        int leftCount = (count - 1) / 2;
+        Node<T> left = buildSubtree(sortedValues, leftCount, level + 1, redLevel);
+        Node<T> node = new Node<>(sortedValues.next());
+        node.blackHeight = (level == redLevel) ? 0 : 1;
+        Node<T> right = buildSubtree(sortedValues, count - 1 - leftCount, level + 1, redLevel);
+        node.context[1] = left;
+        node.context[2] = right;
+        if (left != null) left.context[0] = node;
+        if (right != null) right.context[0] = node;
+        updateHeight(node);
+        return node;
+    }
+
+    /**
+     * Makes an immutable copy of the values in this tree that is laid out for fast contains
+     * calls. Use it for sets that are built once and then searched many times.
+     *
+     * @return a FrozenRedBlackTree holding the values currently in this tree
+     */
+    public FrozenRedBlackTree<T> freeze() {
+        return new FrozenRedBlackTree<>(inOrderIterator(), size);
+    }
+
+    /**
+     * Returns the height of this tree: the number of nodes on its longest root to leaf path.  Every
+     * node keeps the height of its own subtree, updated by insert, remove and rotate along the
+     * path they change, so this takes constant time.
+     *
+     * @return the height of the tree, 0 when it is empty
+     */
+    public int height() {
+        return heightOf(this.root);
+    }
+
+    /**
+     * Computes the black height of this tree by counting the black nodes along the path to its
+     * smallest value.  In a valid red-black tree every root to leaf path has this many black nodes.
+     *
+     * @return the number of black nodes between the root and a leaf, 0 when the tree is empty
+     */
+    public int blackHeight() {
+        int blackNodes = 0;
+        for (Node<T> current = this.root; current != null; current = current.context[1]) {
+            if (current.blackHeight == 1) blackNodes++;
+        }
+        return blackNodes;
+    }
+
+    /**
+     * @return the number of rotations performed since this tree was created
+     */
+    public long getRotationCount() {
+        return rotations;
+    }
+
+    /**
+     * @return the number of nodes recolored while rebalancing since this tree was created
+     */
+    public long getRecolorCount() {
+        return recolors;
+    }
+
+    /**
+     * @return the number of lookups (contains and remove calls) since this tree was created
+     */
+    public long getLookupCount() {
+        return lookups;
+    }
+
+    /**
+     * @return the total number of comparisons made by all lookups since this tree was created
+     */
+    public long getLookupComparisonCount() {
+        return lookupComparisons;
+    }
+
+    /**
+     * @return the number of comparisons made by the most recent lookup
+     */
+    public int getLastLookupComparisonCount() {
+        return lastLookupComparisons;
+    }
+
+    /**
+     * Checks every red-black tree invariant in a single pass over the tree: the root is black,
+     * every node is either red or black, no red node has a red child, every path from the root to
+     * a leaf has the same number of black nodes, values are in binary search tree order, parent
+     * references agree with child references, every node's stored height matches its subtree, and
+     * size matches the number of nodes.
+     *
+     * @return true when all of the invariants hold
+     * @throws IllegalStateException describing the first invariant found to be broken
+     */
+    public boolean validate() {
+        if (this.root == null) {
+            if (size != 0)
+                throw new IllegalStateException("Empty tree has size " + size);
+            return true;
+        }
+        if (this.root.context[0] != null)
+            throw new IllegalStateException("Root " + root.data + " has a parent");
+        if (this.root.blackHeight != 1)
+            throw new IllegalStateException("Root " + root.data + " is not black");
+        int[] count = new int[1];
+        validateSubtree(this.root, null, null, count);
+        if (count[0] != size)
+            throw new IllegalStateException("Tree holds " + count[0] + " nodes but size is " + size);
+        return true;
+    }
+
+    /**
+     * Recursive helper for validate.
+     *
+     * @param node  root of the subtree to check
+     * @param lower every value in the subtree must be greater than this, or null for no bound
+     * @param upper every value in the subtree must be less than this, or null for no bound
+     * @param count incremented once for every node visited
+     * @return the number of black nodes on every path from node to a leaf
+     */
+    private int validateSubtree(Node<T> node, T lower, T upper, int[] count) {
+        if (node == null) return 0;
+        count[0]++;
+        if (node.blackHeight != 0 && node.blackHeight != 1)
+            throw new IllegalStateException("Node " + node.data + " is neither red nor black");
+        if ((lower != null && node.data.compareTo(lower) <= 0)
+                || (upper != null && node.data.compareTo(upper) >= 0))
+            throw new IllegalStateException("Node " + node.data + " is out of order");
+        for (int i = 1; i <= 2; ++i) {
+            Node<T> child = node.context[i];
+            if (child == null) continue;
+            if (child.context[0] != node)
+                throw new IllegalStateException("Node " + child.data + " has the wrong parent");
+            if (node.blackHeight == 0 && child.blackHeight == 0)
+                throw new IllegalStateException("Red node " + node.data + " has a red child");
+        }
+        int left = validateSubtree(node.context[1], lower, node.data, count);
+        int right = validateSubtree(node.context[2], node.data, upper, count);
+        if (node.height != 1 + Math.max(heightOf(node.context[1]), heightOf(node.context[2])))
+            throw new IllegalStateException("Node " + node.data + " has the wrong height");
+        if (left != right)
+            throw new IllegalStateException("Node " + node.data + " has unequal black heights");
+        return left + node.blackHeight;
+    }
+}
@@ -0,0 +1,203 @@
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted map from keys to values, stored in a RedBlackTree of entries that are ordered by their
+ * keys only.  Each mapping takes a single tree node, so a value can be looked up by its key, and
+ * the nearest keys found, without keeping a second structure next to the tree.  Null keys are not
+ * allowed, null values are.
+ */
+public class RedBlackTreeMap<K extends Comparable<K>, V> {
+
+    /**
+     * A key and its value, compared with other entries by key alone.
+     */
+    protected static class Entry<K extends Comparable<K>, V> implements Comparable<Entry<K, V>> {
+        public final K key;
+        public V value;
+
+        public Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Entry<K, V> other) {
+            return key.compareTo(other.key);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Entry && key.equals(((Entry<?, ?>) other).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    protected final RedBlackTree<Entry<K, V>> tree = new RedBlackTree<>();
+
+    /**
+     * Maps key to value, replacing any value the key was mapped to before.
+     *
+     * @param key   the key to map
+     * @param value the value to map it to
+     * @return the value key was mapped to before, or null when it was not in the map
+     * @throws NullPointerException when the provided key is null
+     */
+    public V put(K key, V value) {
+        RedBlackTree.Node<Entry<K, V>> node = tree.findNodeWithData(probe(key));
+        if (node == null) {
+            tree.insert(new Entry<>(key, value));
+            return null;
+        }
+        V previous = node.data.value;
+        node.data.value = value;
+        return previous;
+    }
+
+    /**
+     * @return the value key is mapped to, or null when it is not in the map
+     * @throws NullPointerException when the provided key is null
+     */
+    public V get(K key) {
+        RedBlackTree.Node<Entry<K, V>> node = tree.findNodeWithData(probe(key));
+        return node == null ? null : node.data.value;
+    }
+
+    /**
+     * @return true when key is mapped to a value in this map
+     * @throws NullPointerException when the provided key is null
+     */
+    public boolean containsKey(K key) {
+        return tree.findNodeWithData(probe(key)) != null;
+    }
+
+    /**
+     * Removes key and its value from the map.
+     *
+     * @param key the key to remove
+     * @return the value key was mapped to, or null when it was not in the map
+     * @throws NullPointerException when the provided key is null
+     */
+    public V remove(K key) {
+        RedBlackTree.Node<Entry<K, V>> node = tree.findNodeWithData(probe(key));
+        if (node == null) return null;
+        V value = node.data.value;
+        tree.removeNode(node);
+        return value;
+    }
+
+    /**
+     * @return the number of keys in this map
+     */
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * @return true when this map holds no keys
+     */
+    public boolean isEmpty() {
+        return tree.isEmpty();
+    }
+
+    /**
+     * @return the mapping with the greatest key <= key, or null when there is none
+     * @throws NullPointerException when the provided key is null
+     */
+    public Map.Entry<K, V> floorEntry(K key) {
+        return export(tree.floor(probe(key)));
+    }
+
+    /**
+     * @return the mapping with the smallest key >= key, or null when there is none
+     * @throws NullPointerException when the provided key is null
+     */
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        return export(tree.ceiling(probe(key)));
+    }
+
+    /**
+     * @return the mapping with the smallest key > key, or null when there is none
+     * @throws NullPointerException when the provided key is null
+     */
+    public Map.Entry<K, V> higherEntry(K key) {
+        return export(tree.higher(probe(key)));
+    }
+
+    /**
+     * @return the mapping with the greatest key < key, or null when there is none
+     * @throws NullPointerException when the provided key is null
+     */
+    public Map.Entry<K, V> lowerEntry(K key) {
+        return export(tree.lower(probe(key)));
+    }
+
+    /**
+     * @return the mapping with the smallest key
+     * @throws NoSuchElementException when the map is empty
+     */
+    public Map.Entry<K, V> firstEntry() {
+        return export(tree.first());
+    }
+
+    /**
+     * @return the mapping with the greatest key
+     * @throws NoSuchElementException when the map is empty
+     */
+    public Map.Entry<K, V> lastEntry() {
+        return export(tree.last());
+    }
+
+    /**
+     * Removes the mapping with the smallest key.
+     *
+     * @return the mapping that was removed, or null when the map is empty
+     */
+    public Map.Entry<K, V> pollFirstEntry() {
+        return export(tree.pollFirst());
+    }
+
+    /**
+     * Removes the mapping with the greatest key.
+     *
+     * @return the mapping that was removed, or null when the map is empty
+     */
+    public Map.Entry<K, V> pollLastEntry() {
+        return export(tree.pollLast());
+    }
+
+    /**
+     * @return the mappings of this map in ascending key order, formatted as {k1=v1, k2=v2}
+     */
+    public String toString() {
+        String inOrder = tree.toInOrderString(); // "[ k1=v1, k2=v2 ]"
+        return "{" + inOrder.substring(2, inOrder.length() - 2) + "}";
+    }
+
+    /**
+     * @return an entry with the provided key, for searching the tree
+     */
+    private Entry<K, V> probe(K key) {
+        if (key == null)
+            throw new NullPointerException("This RedBlackTreeMap cannot store null keys.");
+        return new Entry<>(key, null);
+    }
+
+    /**
+     * @return a snapshot of the provided entry that callers cannot use to change the map
+     */
+    private Map.Entry<K, V> export(Entry<K, V> entry) {
+        if (entry == null) return null;
+        return new AbstractMap.SimpleImmutableEntry<>(entry.key, entry.value);
+    }
+}
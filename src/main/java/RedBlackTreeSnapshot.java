@@ -0,0 +1,391 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Writes the values of a RedBlackTree to a channel in a compact binary form, and reads them back
+ * into a new tree.  Values are written in ascending order, each one encoded by a KeyCodec that
+ * also sees the value before it, so that sorted numbers can be stored as small varint deltas and
+ * sorted strings without the prefix they share with the previous string.  Reading builds the tree
+ * directly in its final balanced shape in O(n), without inserting or rebalancing.
+ * <p>
+ * Both directions use a single buffer of a fixed size.  The stream is split into blocks of at most
+ * one buffer, each preceded by its length and followed at the end by an empty block, so a reader
+ * never reads past the end of a snapshot and further data can follow it on the same channel.  The
+ * channels are expected to be blocking, like FileChannel and the channels of sockets and streams.
+ * <p>
+ * Format: blocks of (int length, bytes), ending with a block of length 0.  Their bytes hold the int
+ * MAGIC, the number of values as a varint, and then each value as written by its codec.
+ */
+public class RedBlackTreeSnapshot {
+
+    public static final int MAGIC = 0x52425431; // "RBT1"
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Encodes and decodes the values of a tree.  Values are always written in ascending order, and
+     * each call is given the value written or read just before, or null for the first value.
+     */
+    public interface KeyCodec<T> {
+        void write(T previous, T value, Output out) throws IOException;
+
+        T read(T previous, Input in) throws IOException;
+    }
+
+    /**
+     * Writes the first Integer as a zigzag varint, and each later one as the varint difference
+     * from the one before it.
+     */
+    public static final KeyCodec<Integer> INTEGER_KEYS = new KeyCodec<Integer>() {
+        public void write(Integer previous, Integer value, Output out) throws IOException {
+            if (previous == null) out.writeVarLong(zigzag(value));
+            else out.writeVarLong((long) value - previous);
+        }
+
+        public Integer read(Integer previous, Input in) throws IOException {
+            long value = previous == null ? unzigzag(in.readVarLong())
+                    : previous + in.readVarLong();
+            if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE)
+                throw new IOException("Integer key out of range: " + value);
+            return (int) value;
+        }
+    };
+
+    /**
+     * Writes the first Long as a zigzag varint, and each later one as the unsigned varint
+     * difference from the one before it.
+     */
+    public static final KeyCodec<Long> LONG_KEYS = new KeyCodec<Long>() {
+        public void write(Long previous, Long value, Output out) throws IOException {
+            // values ascend, so the difference is correct as an unsigned number even when the
+            // subtraction overflows
+            out.writeVarLong(previous == null ? zigzag(value) : value - previous);
+        }
+
+        public Long read(Long previous, Input in) throws IOException {
+            return previous == null ? unzigzag(in.readVarLong()) : previous + in.readVarLong();
+        }
+    };
+
+    /**
+     * Writes each String as the number of leading chars it shares with the one before it,
+     * followed by the UTF-8 bytes of the rest of it.
+     */
+    public static final KeyCodec<String> STRING_KEYS = new KeyCodec<String>() {
+        public void write(String previous, String value, Output out) throws IOException {
+            int shared = 0;
+            if (previous != null) {
+                int limit = Math.min(previous.length(), value.length());
+                while (shared < limit && previous.charAt(shared) == value.charAt(shared)) {
+                    shared++;
+                }
+                // never split a surrogate pair, whose halves cannot be encoded separately
+                if (shared > 0 && Character.isHighSurrogate(value.charAt(shared - 1))) shared--;
+            }
+            byte[] rest = value.substring(shared).getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(shared);
+            out.writeVarLong(rest.length);
+            out.writeBytes(rest);
+        }
+
+        public String read(String previous, Input in) throws IOException {
+            long shared = in.readVarLong();
+            if (shared > (previous == null ? 0 : previous.length()))
+                throw new IOException("String key shares more chars than the previous key has");
+            String rest = new String(in.readBytes(in.readVarLong()), StandardCharsets.UTF_8);
+            return previous == null ? rest : previous.substring(0, (int) shared) + rest;
+        }
+    };
+
+    /**
+     * Writes the values of the provided tree to a channel, using a buffer of the default size.
+     *
+     * @param tree    the tree to write
+     * @param codec   encodes each value
+     * @param channel where to write the snapshot
+     * @throws IOException when writing fails
+     */
+    public static <T extends Comparable<T>> void write(RedBlackTree<T> tree, KeyCodec<T> codec,
+                                                       WritableByteChannel channel)
+            throws IOException {
+        write(tree, codec, channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes the values of the provided tree to a channel.
+     *
+     * @param tree       the tree to write
+     * @param codec      encodes each value
+     * @param channel    where to write the snapshot
+     * @param bufferSize the number of bytes to buffer between writes to the channel
+     * @throws IOException              when writing fails
+     * @throws IllegalArgumentException when bufferSize is less than 16
+     */
+    public static <T extends Comparable<T>> void write(RedBlackTree<T> tree, KeyCodec<T> codec,
+                                                       WritableByteChannel channel,
+                                                       int bufferSize) throws IOException {
+        Output out = new Output(channel, bufferSize);
+        out.writeInt(MAGIC);
+        out.writeVarLong(tree.size());
+        T previous = null;
+        for (Iterator<T> values = tree.inOrderIterator(); values.hasNext(); ) {
+            T value = values.next();
+            codec.write(previous, value, out);
+            previous = value;
+        }
+        out.finish();
+    }
+
+    /**
+     * Reads a snapshot from a channel into a new tree, using a buffer of the default size.
+     *
+     * @param codec   decodes each value
+     * @param channel where to read the snapshot from
+     * @return a tree holding the values in the snapshot
+     * @throws IOException when reading fails, or the snapshot is not valid
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> read(KeyCodec<T> codec,
+                                                                 ReadableByteChannel channel)
+            throws IOException {
+        return read(codec, channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads a snapshot from a channel into a new tree.  Nothing after the end of the snapshot is
+     * read from the channel.
+     *
+     * @param codec      decodes each value
+     * @param channel    where to read the snapshot from
+     * @param bufferSize the most bytes to read from the channel at once
+     * @return a tree holding the values in the snapshot
+     * @throws IOException              when reading fails, or the snapshot is not valid
+     * @throws IllegalArgumentException when bufferSize is less than 16
+     */
+    public static <T extends Comparable<T>> RedBlackTree<T> read(KeyCodec<T> codec,
+                                                                 ReadableByteChannel channel,
+                                                                 int bufferSize)
+            throws IOException {
+        Input in = new Input(channel, bufferSize);
+        if (in.readInt() != MAGIC) throw new IOException("Not a RedBlackTree snapshot");
+        long count = in.readVarLong();
+        if (count < 0 || count >= Integer.MAX_VALUE)
+            throw new IOException("Snapshot value count out of range: " + count);
+
+        // values are decoded one at a time as the tree is built; the iterator cannot throw
+        // IOException, so it is wrapped and unwrapped around the build
+        Iterator<T> values = new Iterator<T>() {
+            private T previous = null;
+            private long remaining = count;
+
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            public T next() {
+                try {
+                    T value = codec.read(previous, in);
+                    if (value == null)
+                        throw new IOException("Snapshot holds a null value");
+                    if (previous != null && previous.compareTo(value) >= 0)
+                        throw new IOException("Snapshot values are not in ascending order");
+                    previous = value;
+                    remaining--;
+                    return value;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        RedBlackTree<T> tree = new RedBlackTree<>();
+        try {
+            tree.buildFromSorted(values, (int) count);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        in.expectEnd();
+        return tree;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Buffered writer of the bytes of a snapshot, which sends them to a channel one block at a
+     * time.
+     */
+    public static class Output {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer; // 4 bytes for the block's length, then its bytes
+
+        protected Output(WritableByteChannel channel, int bufferSize) {
+            if (bufferSize < 16)
+                throw new IllegalArgumentException("bufferSize must be at least 16 bytes");
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+            buffer.position(4);
+        }
+
+        public void writeByte(int b) throws IOException {
+            if (!buffer.hasRemaining()) writeBlock();
+            buffer.put((byte) b);
+        }
+
+        public void writeInt(int value) throws IOException {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                writeByte(value >>> shift);
+            }
+        }
+
+        /**
+         * Writes value as an unsigned varint: 7 bits per byte, lowest first, with the high bit
+         * set on every byte but the last.
+         */
+        public void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        public void writeBytes(byte[] bytes) throws IOException {
+            for (int offset = 0; offset < bytes.length; ) {
+                if (!buffer.hasRemaining()) writeBlock();
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        /**
+         * Writes the buffered bytes as a block, and then the empty block that ends the snapshot.
+         */
+        protected void finish() throws IOException {
+            if (buffer.position() > 4) writeBlock();
+            writeBlock();
+        }
+
+        private void writeBlock() throws IOException {
+            buffer.putInt(0, buffer.position() - 4);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            buffer.position(4);
+        }
+    }
+
+    /**
+     * Buffered reader of the bytes of a snapshot, which reads no further from its channel than
+     * the end of the current block.
+     */
+    public static class Input {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+        private int blockRemaining = 0; // bytes of the current block not read from the channel
+
+        protected Input(ReadableByteChannel channel, int bufferSize) {
+            if (bufferSize < 16)
+                throw new IllegalArgumentException("bufferSize must be at least 16 bytes");
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+            buffer.limit(0);
+        }
+
+        public int readByte() throws IOException {
+            if (!buffer.hasRemaining()) {
+                if (blockRemaining == 0) {
+                    blockRemaining = readBlockLength();
+                    if (blockRemaining == 0) throw new EOFException("Snapshot ended early");
+                }
+                fill(Math.min(buffer.capacity(), blockRemaining));
+                blockRemaining -= buffer.limit();
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        public int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; ++i) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        /**
+         * Reads an unsigned varint, as written by Output.writeVarLong.
+         */
+        public long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint in snapshot");
+        }
+
+        /**
+         * Reads length bytes.  The length comes from the snapshot, which may be corrupt, so the
+         * array only grows as the bytes actually arrive rather than being allocated up front.
+         */
+        public byte[] readBytes(long length) throws IOException {
+            if (length < 0 || length > Integer.MAX_VALUE - 8)
+                throw new IOException("Byte string length out of range: " + length);
+            byte[] bytes = new byte[(int) Math.min(length, buffer.capacity())];
+            for (int offset = 0; offset < length; ) {
+                if (offset == bytes.length)
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+                if (!buffer.hasRemaining()) {
+                    bytes[offset++] = (byte) readByte(); // refills the buffer
+                    continue;
+                }
+                int count = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.get(bytes, offset, count);
+                offset += count;
+            }
+            return bytes;
+        }
+
+        /**
+         * Checks that every byte of the snapshot was read, and consumes the empty block that ends
+         * it.
+         */
+        protected void expectEnd() throws IOException {
+            if (buffer.hasRemaining() || blockRemaining != 0 || readBlockLength() != 0)
+                throw new IOException("Snapshot has more data than its values");
+        }
+
+        private int readBlockLength() throws IOException {
+            fill(4);
+            int length = buffer.getInt();
+            if (length < 0) throw new IOException("Snapshot block length out of range: " + length);
+            buffer.limit(0);
+            return length;
+        }
+
+        /**
+         * Replaces the contents of the buffer with exactly count bytes from the channel.
+         */
+        private void fill(int count) throws IOException {
+            buffer.clear();
+            buffer.limit(count);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new EOFException("Snapshot ended early");
+            }
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics about the shortest path searches run by a DijkstraGraph.  Instrumentation is
+ * opt-in: nothing is recorded until an instance is attached with
+ * DijkstraGraph.setInstrumentation.  For every query this records the number of nodes settled,
+ * edges relaxed, stale priority queue entries skipped, the peak size of the priority queue and the
+ * wall time, emits a ShortestPathEvent to JDK Flight Recorder (when a recording has that event
+ * enabled) and adds the query to running totals and power-of-two histograms.  One instance may be
+ * shared by several graphs and threads.
+ */
+public class SearchInstrumentation {
+
+    /**
+     * Number of histogram buckets.  Bucket i counts values v where 2^(i-1) <= v < 2^i, and bucket
+     * 0 counts zeros.
+     */
+    public static final int BUCKETS = 64;
+
+    /**
+     * Flight Recorder event committed once per shortest path query.
+     */
+    @Name("DijkstraGraph.ShortestPath")
+    @Label("Shortest Path Query")
+    @Category("DijkstraGraph")
+    @Description("One shortest path search through a DijkstraGraph")
+    static class ShortestPathEvent extends Event {
+        @Label("Nodes Settled")
+        int nodesSettled;
+
+        @Label("Edges Relaxed")
+        int edgesRelaxed;
+
+        @Label("Stale Pops")
+        int stalePops;
+
+        @Label("Peak Frontier Size")
+        int peakFrontier;
+
+        @Label("Path Found")
+        boolean found;
+
+        @Label("Search Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder nodesSettled = new LongAdder();
+    private final LongAdder edgesRelaxed = new LongAdder();
+    private final LongAdder stalePops = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray settledHistogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records the statistics of one finished query.  Subclasses may override this to observe each
+     * query as well, but should call super.record to keep the totals and histograms up to date.
+     *
+     * @param settled      number of nodes removed from the priority queue and settled
+     * @param relaxed      number of edges leaving settled nodes that were examined
+     * @param stale        number of priority queue entries skipped because their node was already
+     *                     settled
+     * @param peakFrontier largest size the priority queue reached
+     * @param startTime    System.nanoTime() when the query started
+     * @param found        true if a path was found, false if the query failed
+     */
+    public void record(int settled, int relaxed, int stale, int peakFrontier, long startTime,
+                       boolean found) {
+        long elapsed = System.nanoTime() - startTime;
+        queries.increment();
+        nodesSettled.add(settled);
+        edgesRelaxed.add(relaxed);
+        stalePops.add(stale);
+        nanos.add(elapsed);
+        latencyHistogram.incrementAndGet(bucket(elapsed));
+        settledHistogram.incrementAndGet(bucket(settled));
+
+        ShortestPathEvent event = new ShortestPathEvent();
+        if (event.shouldCommit()) {
+            event.nodesSettled = settled;
+            event.edgesRelaxed = relaxed;
+            event.stalePops = stale;
+            event.peakFrontier = peakFrontier;
+            event.found = found;
+            event.nanos = elapsed;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return the histogram bucket that the provided non-negative value falls in
+     */
+    private static int bucket(long value) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, value)));
+    }
+
+    /**
+     * @return the number of queries recorded
+     */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    /**
+     * @return the total number of nodes settled over all recorded queries
+     */
+    public long getNodesSettled() {
+        return nodesSettled.sum();
+    }
+
+    /**
+     * @return the total number of edges relaxed over all recorded queries
+     */
+    public long getEdgesRelaxed() {
+        return edgesRelaxed.sum();
+    }
+
+    /**
+     * @return the total number of stale priority queue entries skipped over all recorded queries
+     */
+    public long getStalePops() {
+        return stalePops.sum();
+    }
+
+    /**
+     * @return the total wall time in nanoseconds over all recorded queries
+     */
+    public long getTotalNanos() {
+        return nanos.sum();
+    }
+
+    /**
+     * @return a copy of the query latency histogram, in nanoseconds, see BUCKETS
+     */
+    public long[] getLatencyHistogram() {
+        return copy(latencyHistogram);
+    }
+
+    /**
+     * @return a copy of the nodes settled per query histogram, see BUCKETS
+     */
+    public long[] getSettledHistogram() {
+        return copy(settledHistogram);
+    }
+
+    private static long[] copy(AtomicLongArray histogram) {
+        long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * Clears all totals and histograms.
+     */
+    public void reset() {
+        queries.reset();
+        nodesSettled.reset();
+        edgesRelaxed.reset();
+        stalePops.reset();
+        nanos.reset();
+        for (int i = 0; i < BUCKETS; ++i) {
+            latencyHistogram.set(i, 0);
+            settledHistogram.set(i, 0);
+        }
+    }
+
+    /**
+     * Returns the totals and histograms in the Prometheus text exposition format.  Histogram
+     * bucket lines are cumulative: the line labelled le="x" counts every query whose value was at
+     * most x.  Buckets above the largest recorded value are left out, since their counts would
+     * all equal the +Inf bucket's.
+     *
+     * @return the current statistics, one per line
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendCounter(sb, "dijkstra_queries_total", getQueryCount());
+        appendCounter(sb, "dijkstra_nodes_settled_total", getNodesSettled());
+        appendCounter(sb, "dijkstra_edges_relaxed_total", getEdgesRelaxed());
+        appendCounter(sb, "dijkstra_stale_pops_total", getStalePops());
+        appendCounter(sb, "dijkstra_search_nanos_total", getTotalNanos());
+        appendHistogram(sb, "dijkstra_search_nanos", getLatencyHistogram(), getTotalNanos());
+        appendHistogram(sb, "dijkstra_nodes_settled", getSettledHistogram(), getNodesSettled());
+        return sb.toString();
+    }
+
+    private static void appendCounter(StringBuilder sb, String name, long value) {
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void appendHistogram(StringBuilder sb, String name, long[] counts, long sum) {
+        sb.append("# TYPE ").append(name).append(" histogram\n");
+        int last = counts.length - 1;
+        while (last > 0 && counts[last] == 0) last--;
+        long cumulative = 0;
+        // bucket i holds values below 2^i, so its inclusive upper bound is 2^i - 1; the last
+        // bucket has no upper bound and is only counted in +Inf
+        for (int i = 0; i <= Math.min(last, BUCKETS - 2); ++i) {
+            cumulative += counts[i];
+            sb.append(name).append("_bucket{le=\"").append((1L << i) - 1).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        sb.append(name).append("_bucket{le=\"+Inf\"} ").append(total).append('\n');
+        sb.append(name).append("_sum ").append(sum).append('\n');
+        sb.append(name).append("_count ").append(total).append('\n');
+    }
+}
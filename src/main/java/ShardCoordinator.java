@@ -0,0 +1,346 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Answers shortest path queries on a graph that has been split by a GraphPartition, with each
+ * shard held by a ShardWorker reached over a loopback socket.  Nodes are identified by the ids
+ * the original graph gave them.  Once the shards have been sent, the coordinator keeps only the
+ * overlay formed by the boundary nodes of every shard and the edges that cross between shards,
+ * so its memory grows with the overlay rather than with the graph.
+ * <p>
+ * A query starts by asking every shard whether it holds the start and end nodes, and then runs
+ * in rounds.  In each round, every shard that has new entry costs searches from them
+ * in parallel and reports the costs of its boundary nodes.  The coordinator then carries the
+ * improved costs across crossing edges to become entry costs in the neighboring shards, until no
+ * cost can be lowered below the best path to the end node found so far.  Every cost is built by
+ * adding edge weights in path order, just as a single search of the whole graph adds them, so the
+ * answers are exactly the same as DijkstraGraph.shortestPathCost on the original graph.  A
+ * coordinator runs one query at a time.
+ */
+public class ShardCoordinator implements AutoCloseable {
+
+    /**
+     * An open connection to one ShardWorker, and the worker's process when this coordinator
+     * started it.
+     */
+    private static class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+        final Process process;
+
+        Connection(int port, Process process) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true); // requests are small and each one waits for an answer
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.process = process;
+        }
+    }
+
+    // The boundary nodes of every shard are numbered in shard order, as overlay indexes, so that
+    // shard s reports on overlay indexes boundaryStart[s] to boundaryStart[s + 1] - 1.
+    private final List<Connection> shards = new ArrayList<>();
+    private final int[] boundaryStart;
+    private final int[] overlayIds; // node id of each overlay index
+    private final int[] overlayShard; // shard of each overlay index
+    private final int[] crossingStart; // crossing edges leaving overlay index u are at indexes
+    private final int[] crossingTarget; // crossingStart[u] to crossingStart[u + 1] - 1
+    private final double[] crossingWeight;
+    private final double[] entryCost; // lowest cost sent to a shard for each overlay index
+    private final double[] exitCost; // lowest cost a shard reported for each overlay index
+
+    /**
+     * Connects to one already running ShardWorker per shard, sends each its shard, and copies out
+     * the overlay of boundary nodes and crossing edges.  The partition is not kept.
+     *
+     * @param partition the partitioned graph
+     * @param ports     the loopback port of the worker for each shard, in shard order
+     * @throws IOException when a worker cannot be reached
+     */
+    public ShardCoordinator(GraphPartition partition, int[] ports) throws IOException {
+        this(partition, ports, new Process[ports.length]);
+    }
+
+    private ShardCoordinator(GraphPartition partition, int[] ports, Process[] processes)
+            throws IOException {
+        if (ports.length != partition.getShardCount())
+            throw new IllegalArgumentException("Expected one port per shard");
+        try {
+            for (int s = 0; s < ports.length; ++s) {
+                Connection shard = new Connection(ports[s], processes[s]);
+                shards.add(shard);
+                partition.writeShard(s, shard.out);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+
+        // number the boundary nodes in shard order, in the order each worker reports them
+        boundaryStart = new int[ports.length + 1];
+        for (int s = 0; s < ports.length; ++s) {
+            boundaryStart[s + 1] = boundaryStart[s] + partition.boundaryNodes[s].length;
+        }
+        int b = boundaryStart[ports.length];
+        overlayIds = new int[b];
+        overlayShard = new int[b];
+        HashMap<Integer, Integer> overlayIndex = new HashMap<>(); // only needed while building
+        for (int s = 0; s < ports.length; ++s) {
+            for (int i = 0; i < partition.boundaryNodes[s].length; ++i) {
+                int u = boundaryStart[s] + i;
+                overlayIds[u] = partition.boundaryNodes[s][i];
+                overlayShard[u] = s;
+                overlayIndex.put(overlayIds[u], u);
+            }
+        }
+
+        // group the edges that cross between shards by the overlay index they leave
+        crossingStart = new int[b + 1];
+        int crossingCount = 0;
+        for (int e = 0; e < partition.edgeFrom.length; ++e) {
+            if (crosses(partition, e)) {
+                crossingStart[overlayIndex.get(partition.edgeFrom[e]) + 1]++;
+                crossingCount++;
+            }
+        }
+        for (int u = 1; u <= b; ++u) {
+            crossingStart[u] += crossingStart[u - 1];
+        }
+        crossingTarget = new int[crossingCount];
+        crossingWeight = new double[crossingCount];
+        int[] next = Arrays.copyOf(crossingStart, b);
+        for (int e = 0; e < partition.edgeFrom.length; ++e) {
+            if (crosses(partition, e)) {
+                int u = overlayIndex.get(partition.edgeFrom[e]);
+                crossingTarget[next[u]] = overlayIndex.get(partition.edgeTo[e]);
+                crossingWeight[next[u]++] = partition.edgeWeight[e];
+            }
+        }
+        entryCost = new double[b];
+        exitCost = new double[b];
+    }
+
+    /**
+     * @return true when the partition's edge e crosses between two shards
+     */
+    private static boolean crosses(GraphPartition partition, int e) {
+        return partition.shardOf[partition.edgeFrom[e]] != partition.shardOf[partition.edgeTo[e]];
+    }
+
+    /**
+     * Starts one ShardWorker process per shard on this machine, using the same java executable
+     * and classpath as this process, and connects to them.  The processes exit when this
+     * coordinator is closed.
+     *
+     * @param partition the partitioned graph
+     * @return a coordinator connected to the new workers
+     * @throws IOException when a worker cannot be started or reached
+     */
+    public static ShardCoordinator launchLocal(GraphPartition partition) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process[] processes = new Process[partition.getShardCount()];
+        int[] ports = new int[processes.length];
+        try {
+            for (int s = 0; s < processes.length; ++s) {
+                processes[s] = new ProcessBuilder(java, "-cp",
+                        System.getProperty("java.class.path"), "ShardWorker")
+                        .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+                String port = new BufferedReader(
+                        new InputStreamReader(processes[s].getInputStream())).readLine();
+                if (port == null)
+                    throw new IOException("ShardWorker " + s + " exited before listening");
+                ports[s] = Integer.parseInt(port.trim());
+            }
+            return new ShardCoordinator(partition, ports, processes);
+        } catch (IOException | RuntimeException e) {
+            for (Process process : processes) {
+                if (process != null) process.destroy();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cost of the shortest path between the nodes with the provided ids, the same as
+     * DijkstraGraph.shortestPathCostById on the original graph.
+     *
+     * @param startId the id of the starting node for the path
+     * @param endId   the id of the destination node for the path
+     * @return the cost of the shortest path between these nodes
+     * @throws NoSuchElementException when no path from start to end is found or when either id
+     *                                does not belong to a node of the partitioned graph
+     * @throws UncheckedIOException   when a shard cannot be reached
+     */
+    public synchronized double shortestPathCostById(int startId, int endId) {
+        // every shard starts the query, and says whether it holds the start or end node
+        for (int s = 0; s < shards.size(); ++s) {
+            send(s, out -> {
+                out.writeInt(ShardWorker.BEGIN);
+                out.writeInt(startId);
+                out.writeInt(endId);
+            });
+        }
+        int startShard = -1;
+        boolean endFound = false;
+        for (int s = 0; s < shards.size(); ++s) {
+            int holds = receiveInt(s);
+            if ((holds & ShardWorker.HOLDS_START) != 0) startShard = s;
+            if ((holds & ShardWorker.HOLDS_END) != 0) endFound = true;
+        }
+        if (startShard == -1 || !endFound)
+            throw new NoSuchElementException("Start or end vertices cannot be found");
+        if (startId == endId) return 0.0;
+
+        Arrays.fill(entryCost, Double.POSITIVE_INFINITY);
+        Arrays.fill(exitCost, Double.POSITIVE_INFINITY);
+        double best = Double.POSITIVE_INFINITY;
+
+        // entry nodes and costs to send to each shard in the next round
+        List<List<Integer>> seeds = new ArrayList<>();
+        List<List<Double>> seedCosts = new ArrayList<>();
+        for (int s = 0; s < shards.size(); ++s) {
+            seeds.add(new ArrayList<>());
+            seedCosts.add(new ArrayList<>());
+        }
+        seeds.get(startShard).add(startId);
+        seedCosts.get(startShard).add(0.0);
+
+        boolean searching = true;
+        while (searching) {
+            // every shard with new entry costs searches in parallel
+            List<Integer> active = new ArrayList<>();
+            for (int s = 0; s < shards.size(); ++s) {
+                if (seeds.get(s).isEmpty()) continue;
+                final int shard = s;
+                final double bound = best;
+                send(s, out -> {
+                    out.writeInt(ShardWorker.SEARCH);
+                    out.writeDouble(bound);
+                    out.writeInt(seeds.get(shard).size());
+                    for (int i = 0; i < seeds.get(shard).size(); ++i) {
+                        out.writeInt(seeds.get(shard).get(i));
+                        out.writeDouble(seedCosts.get(shard).get(i));
+                    }
+                });
+                seeds.get(s).clear();
+                seedCosts.get(s).clear();
+                active.add(s);
+            }
+
+            // collect the boundary nodes whose cost went down
+            List<Integer> improved = new ArrayList<>();
+            for (int s : active) {
+                int count = boundaryStart[s + 1] - boundaryStart[s];
+                double[] costs = receive(s, count + 1);
+                best = Math.min(best, costs[count]);
+                for (int i = 0; i < count; ++i) {
+                    int u = boundaryStart[s] + i;
+                    if (costs[i] < exitCost[u]) {
+                        exitCost[u] = costs[i];
+                        improved.add(u);
+                    }
+                }
+            }
+
+            // carry those costs across crossing edges into the neighboring shards
+            searching = false;
+            for (int u : improved) {
+                for (int e = crossingStart[u]; e < crossingStart[u + 1]; ++e) {
+                    int v = crossingTarget[e];
+                    double candidate = exitCost[u] + crossingWeight[e];
+                    if (candidate < entryCost[v] && candidate < best) {
+                        entryCost[v] = candidate;
+                        seeds.get(overlayShard[v]).add(overlayIds[v]);
+                        seedCosts.get(overlayShard[v]).add(candidate);
+                        searching = true;
+                    }
+                }
+            }
+        }
+
+        if (best == Double.POSITIVE_INFINITY)
+            throw new NoSuchElementException("There is no path between these nodes");
+        return best;
+    }
+
+    /**
+     * Something written to a shard's connection.
+     */
+    private interface Message {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void send(int shard, Message message) {
+        try {
+            message.write(shards.get(shard).out);
+            shards.get(shard).out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lost connection to shard " + shard, e);
+        }
+    }
+
+    private int receiveInt(int shard) {
+        try {
+            return shards.get(shard).in.readInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lost connection to shard " + shard, e);
+        }
+    }
+
+    private double[] receive(int shard, int count) {
+        try {
+            double[] costs = new double[count];
+            for (int i = 0; i < count; ++i) {
+                costs[i] = shards.get(shard).in.readDouble();
+            }
+            return costs;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lost connection to shard " + shard, e);
+        }
+    }
+
+    /**
+     * Tells every worker to stop, closes the connections, and waits for any worker processes that
+     * this coordinator started to exit.
+     */
+    public void close() {
+        for (Connection shard : shards) {
+            try {
+                shard.out.writeInt(ShardWorker.CLOSE);
+                shard.out.flush();
+            } catch (IOException e) {
+                // the worker is already gone
+            } finally {
+                try {
+                    shard.socket.close();
+                } catch (IOException e) {
+                    // nothing more to release
+                }
+            }
+            if (shard.process != null) {
+                try {
+                    shard.process.waitFor();
+                } catch (InterruptedException e) {
+                    shard.process.destroy();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        shards.clear();
+    }
+}
@@ -0,0 +1,225 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+/**
+ * Holds one shard of a GraphPartition and runs the part of a shortest path query that stays
+ * inside that shard, for a ShardCoordinator connected over a socket.  The shard is stored as
+ * compact arrays (a compressed adjacency list) rather than as graph node and edge objects.
+ * <p>
+ * During a query the worker keeps the lowest cost found so far for each of its nodes.  Costs are
+ * stamped with the query that set them, so starting a query does not touch every node.  Each
+ * SEARCH request lowers the costs of some entry nodes (seeds), and the worker continues Dijkstra's
+ * algorithm from them until no cost inside the shard can be lowered any further, then reports the
+ * costs of its boundary nodes and of the query's end node.
+ * <p>
+ * When run as a program, a worker listens on an unused loopback port, prints that port number on
+ * its own line of standard output, serves a single coordinator and then exits.
+ */
+public class ShardWorker {
+
+    // request codes sent by the coordinator
+    public static final int BEGIN = 1; // start and end node ids: start a new query, answered
+                                       // with which of the two nodes this shard holds
+    public static final int SEARCH = 2; // bound, seed count, then (node id, cost) per seed
+    public static final int CLOSE = 3; // stop serving
+
+    // bits of the answer to BEGIN
+    public static final int HOLDS_START = 1;
+    public static final int HOLDS_END = 2;
+
+    private int[] globalIds; // global id of each local node
+    private final HashMap<Integer, Integer> localIds = new HashMap<>();
+    private int[] boundary; // local index of each boundary node
+    private int[] edgeStart; // edges leaving local node u are at indexes
+    private int[] edgeTarget; // edgeStart[u] to edgeStart[u + 1] - 1
+    private double[] edgeWeight;
+
+    private double[] cost; // lowest cost found for each local node, when costStamp matches stamp
+    private int[] costStamp; // query that set each cost
+    private int stamp = 0; // current query
+    private int end; // local index of the current query's end node, -1 when not in this shard
+
+    /**
+     * Reads a shard, as written by GraphPartition.writeShard.
+     *
+     * @param in where to read the shard from
+     * @throws IOException when reading fails
+     */
+    public void readShard(DataInputStream in) throws IOException {
+        globalIds = new int[in.readInt()];
+        for (int u = 0; u < globalIds.length; ++u) {
+            globalIds[u] = in.readInt();
+            localIds.put(globalIds[u], u);
+        }
+        boundary = new int[in.readInt()];
+        for (int i = 0; i < boundary.length; ++i) {
+            boundary[i] = localIds.get(in.readInt());
+        }
+        int edgeCount = in.readInt();
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        double[] weight = new double[edgeCount];
+        for (int e = 0; e < edgeCount; ++e) {
+            from[e] = localIds.get(in.readInt());
+            to[e] = localIds.get(in.readInt());
+            weight[e] = in.readDouble();
+        }
+
+        // group the edges by the node they leave
+        edgeStart = new int[globalIds.length + 1];
+        edgeTarget = new int[edgeCount];
+        edgeWeight = new double[edgeCount];
+        for (int u : from) {
+            edgeStart[u + 1]++;
+        }
+        for (int u = 1; u < edgeStart.length; ++u) {
+            edgeStart[u] += edgeStart[u - 1];
+        }
+        int[] next = Arrays.copyOf(edgeStart, globalIds.length);
+        for (int e = 0; e < edgeCount; ++e) {
+            edgeTarget[next[from[e]]] = to[e];
+            edgeWeight[next[from[e]]++] = weight[e];
+        }
+        cost = new double[globalIds.length];
+        costStamp = new int[globalIds.length];
+    }
+
+    /**
+     * Starts a new query, forgetting the costs found for the previous one.
+     *
+     * @param startId global id of the query's start node
+     * @param endId   global id of the query's end node
+     * @return HOLDS_START and HOLDS_END, for each of the two nodes that is in this shard
+     */
+    protected int begin(int startId, int endId) {
+        if (stamp == Integer.MAX_VALUE) { // start over rather than reuse old stamps
+            Arrays.fill(costStamp, 0);
+            stamp = 0;
+        }
+        stamp++;
+        Integer local = localIds.get(endId);
+        end = local == null ? -1 : local;
+        return (localIds.containsKey(startId) ? HOLDS_START : 0) | (end != -1 ? HOLDS_END : 0);
+    }
+
+    /**
+     * @return the lowest cost found for local node u during the current query
+     */
+    private double cost(int u) {
+        return costStamp[u] == stamp ? cost[u] : Double.POSITIVE_INFINITY;
+    }
+
+    private void setCost(int u, double value) {
+        cost[u] = value;
+        costStamp[u] = stamp;
+    }
+
+    /**
+     * Lowers the costs of the seed nodes and continues Dijkstra's algorithm from them.  Costs are
+     * only propagated while they are below bound, since nothing costing more can be part of a
+     * better path to the end node.
+     *
+     * @param seeds global ids of nodes whose cost may be lowered
+     * @param costs the new cost of each seed
+     * @param bound cost of the best complete path found so far
+     */
+    protected void search(int[] seeds, double[] costs, double bound) {
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        for (int i = 0; i < seeds.length; ++i) {
+            int u = localIds.get(seeds[i]);
+            if (costs[i] < cost(u)) {
+                setCost(u, costs[i]);
+                queue.add(new double[]{costs[i], u});
+            }
+        }
+        while (!queue.isEmpty()) {
+            double[] entry = queue.remove();
+            int u = (int) entry[1];
+            if (entry[0] > cost[u] || entry[0] >= bound) continue; // stale or too expensive
+            for (int e = edgeStart[u]; e < edgeStart[u + 1]; ++e) {
+                double candidate = cost[u] + edgeWeight[e];
+                if (candidate < cost(edgeTarget[e])) {
+                    setCost(edgeTarget[e], candidate);
+                    queue.add(new double[]{candidate, edgeTarget[e]});
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers requests from a coordinator until it sends CLOSE or disconnects.  The first thing
+     * read from the connection is the shard itself.
+     *
+     * @param socket connection to the coordinator
+     * @throws IOException when reading or writing fails
+     */
+    public void serve(Socket socket) throws IOException {
+        try (socket) {
+            socket.setTcpNoDelay(true); // answers are small and the coordinator waits for each
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()));
+            readShard(in);
+            while (true) {
+                int request;
+                try {
+                    request = in.readInt();
+                } catch (EOFException e) {
+                    return; // coordinator went away
+                }
+                if (request == CLOSE) {
+                    return;
+                } else if (request == BEGIN) {
+                    int startId = in.readInt();
+                    out.writeInt(begin(startId, in.readInt()));
+                    out.flush();
+                } else if (request == SEARCH) {
+                    double bound = in.readDouble();
+                    int[] seeds = new int[in.readInt()];
+                    double[] costs = new double[seeds.length];
+                    for (int i = 0; i < seeds.length; ++i) {
+                        seeds[i] = in.readInt();
+                        costs[i] = in.readDouble();
+                    }
+                    search(seeds, costs, bound);
+                    for (int b : boundary) {
+                        out.writeDouble(cost(b));
+                    }
+                    out.writeDouble(end == -1 ? Double.POSITIVE_INFINITY : cost(end));
+                    out.flush();
+                } else {
+                    throw new IOException("Unknown request " + request);
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a server socket on an unused loopback port.
+     *
+     * @return the listening socket
+     * @throws IOException when the socket cannot be opened
+     */
+    public static ServerSocket listen() throws IOException {
+        return new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (ServerSocket server = listen()) {
+            System.out.println(server.getLocalPort());
+            System.out.flush();
+            new ShardWorker().serve(server.accept());
+        }
+    }
+}
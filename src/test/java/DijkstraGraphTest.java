@@ -0,0 +1,387 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * holds all the tests for the Dijkstra Graph
+ */
+public class DijkstraGraphTest {
+    /**
+     * tests to see if it can find the shortest path on a simple graph
+     */
+    @Test
+    public void testFindingShortestPathSimpleGraph() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+
+        test.insertEdge("A", "B", 4);
+        test.insertEdge("A", "C", 1);
+        test.insertEdge("B", "D", 2);
+        test.insertEdge("C", "D", 2);
+
+
+        assertAll(() -> assertEquals(4, test.shortestPathCost("A", "B")),
+                () -> assertEquals(3, test.shortestPathCost("A", "D")));
+
+    }
+
+    /**
+     * Create a test that makes use of an example graph you previously traced by hand, and
+     * confirm that the results of your implementation match what you previously computed by
+     * hand.
+     */
+    @Test
+    public void testMoreComplexGraph() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+        test.insertNode("E");
+        test.insertNode("F");
+        test.insertNode("G");
+
+        test.insertEdge("A", "B", 4);
+        test.insertEdge("A", "C", 1);
+        test.insertEdge("B", "D", 2);
+        test.insertEdge("C", "D", 2);
+        test.insertEdge("B", "A", 3);
+        test.insertEdge("C", "E", 4);
+        test.insertEdge("E", "F", 3);
+        test.insertEdge("E", "G", 5);
+        test.insertEdge("A", "G", 15);
+
+        assertAll(() -> assertEquals("G", test.computeShortestPath("A", "G").node.data),
+                () -> assertEquals("E",
+                        test.computeShortestPath("A", "G").predecessor.node.data),
+                () -> assertEquals("C",
+                        test.computeShortestPath("A", "G").predecessor.predecessor.node.data)
+                , () -> assertEquals("A",
+                        test.computeShortestPath("A", "G").predecessor.predecessor.predecessor.node.data));
+
+    }
+
+    /**
+     * Create another test using the same graph as you did for the test above, but check the
+     * cost and sequence of data along the shortest path between a different start and end
+     * node.
+     */
+    @Test
+    public void testCostAndSequenceOfMoreComplexGraph() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+        test.insertNode("E");
+        test.insertNode("F");
+        test.insertNode("G");
+
+        test.insertEdge("A", "B", 4);
+        test.insertEdge("A", "C", 1);
+        test.insertEdge("B", "D", 2);
+        test.insertEdge("C", "D", 2);
+        test.insertEdge("B", "A", 3);
+        test.insertEdge("C", "E", 4);
+        test.insertEdge("E", "F", 3);
+        test.insertEdge("E", "G", 5);
+        test.insertEdge("A", "G", 15);
+
+        assertAll(() -> assertEquals(10, test.shortestPathCost("A", "G")),
+                () -> assertEquals(8, test.shortestPathCost("A", "F")), () -> assertEquals(3,
+                        test.shortestPathData("A", "D").size()), () -> assertEquals("A",
+                        test.shortestPathData("A", "D").get(0)), () -> assertEquals("C",
+                        test.shortestPathData("A", "D").get(1)), () -> assertEquals("D",
+                        test.shortestPathData("A", "D").get(2)));
+    }
+
+    /**
+     * Create a test that checks the behavior of your implementation when the node that you are
+     * searching for a path between exist in the graph, but there is no sequence of directed
+     * edges that connects them from the start to the end.
+     */
+    @Test
+    public void testNodesThatAreNotConnected() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+        test.insertNode("E");
+        test.insertNode("F");
+        test.insertNode("G");
+        test.insertNode("H");
+
+        test.insertEdge("A", "B", 4);
+        test.insertEdge("A", "C", 1);
+        test.insertEdge("B", "D", 2);
+        test.insertEdge("C", "D", 2);
+        test.insertEdge("B", "A", 3);
+        test.insertEdge("C", "E", 4);
+        test.insertEdge("E", "F", 3);
+        test.insertEdge("E", "G", 5);
+        test.insertEdge("A", "G", 15);
+
+        try {
+            test.shortestPathData("A", "H");
+            Assert.fail("should have thrown an exception");
+
+        } catch (NoSuchElementException e) {
+            String expected = "There is no path between these nodes";
+            assertEquals(expected, e.getMessage());
+        }
+
+    }
+    /**
+     * tests if a node has multiple edges going into it, that it finds the shorter of the two and
+     * returns it
+     */
+    @Test
+    public void testDifferentValuesIntoSameNode() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+
+        test.insertEdge("A","B",4);
+        test.insertEdge("A","C",1);
+        test.insertEdge("B","D",2);
+        test.insertEdge("C","D",2);
+        test.insertEdge("A","B",2);
+
+        assertEquals(2, test.shortestPathCost("A", "B"));
+
+    }
+
+    /**
+     * tests that ids are handed out in insertion order, are not reused after a removal, and
+     * give the same answers as the NodeType based methods
+     */
+    @Test
+    public void testShortestPathById() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+
+        test.insertEdge("A","B",4);
+        test.insertEdge("A","C",1);
+        test.insertEdge("B","D",2);
+        test.insertEdge("C","D",2);
+
+        test.removeNode("B");
+        test.insertNode("E");
+        test.insertEdge("D","E",1);
+
+        int a = test.getNodeId("A");
+        int e = test.getNodeId("E");
+        assertAll(() -> assertEquals(0, a), () -> assertEquals(4, e),
+                () -> assertEquals("E", test.getNodeData(e)),
+                () -> assertEquals(4, test.shortestPathCostById(a, e)),
+                () -> assertEquals(test.shortestPathData("A", "E"),
+                        test.shortestPathDataById(a, e)),
+                () -> assertThrows(NoSuchElementException.class, () -> test.getNodeData(1)));
+    }
+
+    /**
+     * tests that attached instrumentation counts the work done by a search, and that searches
+     * are no longer recorded once it is detached
+     */
+    @Test
+    public void testSearchInstrumentation() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+        SearchInstrumentation stats = new SearchInstrumentation();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+
+        test.insertEdge("A","B",4);
+        test.insertEdge("A","C",1);
+        test.insertEdge("B","D",2);
+        test.insertEdge("C","D",2);
+
+        test.setInstrumentation(stats);
+        test.shortestPathCost("A", "D"); // settles A, C then D
+        test.shortestPathCost("A", "A"); // settles only A
+        test.setInstrumentation(null);
+        test.shortestPathCost("A", "D");
+
+        assertAll(() -> assertEquals(2L, stats.getQueryCount()),
+                () -> assertEquals(4L, stats.getNodesSettled()),
+                () -> assertEquals(3L, stats.getEdgesRelaxed()),
+                () -> assertEquals(0L, stats.getStalePops()),
+                () -> assertEquals(1L, stats.getSettledHistogram()[1]),
+                () -> assertEquals(1L, stats.getSettledHistogram()[2]),
+                () -> assertTrue(stats.toString().contains(
+                        "dijkstra_nodes_settled_bucket{le=\"3\"} 2\n")),
+                () -> assertTrue(stats.toString().contains(
+                        "dijkstra_nodes_settled_bucket{le=\"+Inf\"} 2\n")));
+    }
+
+    /**
+     * tests that the distance matrix matches shortestPathCost for reachable pairs, holds
+     * infinity for unreachable pairs, and handles a source that appears twice
+     */
+    @Test
+    public void testDistanceMatrix() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+        test.insertNode("E");
+        test.insertNode("F");
+        test.insertNode("G");
+        test.insertNode("H");
+
+        test.insertEdge("A", "B", 4);
+        test.insertEdge("A", "C", 1);
+        test.insertEdge("B", "D", 2);
+        test.insertEdge("C", "D", 2);
+        test.insertEdge("B", "A", 3);
+        test.insertEdge("C", "E", 4);
+        test.insertEdge("E", "F", 3);
+        test.insertEdge("E", "G", 5);
+        test.insertEdge("A", "G", 15);
+
+        double[][] matrix = test.distanceMatrix(List.of("A", "C", "A"),
+                List.of("D", "G", "H", "A"));
+
+        double inf = Double.POSITIVE_INFINITY;
+        assertAll(() -> assertArrayEquals(new double[]{3, 10, inf, 0}, matrix[0]),
+                () -> assertArrayEquals(new double[]{2, 9, inf, inf}, matrix[1]),
+                () -> assertArrayEquals(new double[]{3, 10, inf, 0}, matrix[2]),
+                () -> assertThrows(NoSuchElementException.class,
+                        () -> test.distanceMatrix(List.of("Z"), List.of("A"))));
+    }
+
+    /**
+     * tests that the reachability index answers correctly as edges are inserted (including one
+     * that closes a cycle) and removed, and that tryShortestPathCost reports missing paths
+     * without throwing
+     */
+    @Test
+    public void testReachabilityIndex() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertEdge("A", "B", 1);
+        test.enableReachabilityIndex();
+        test.insertNode("D");
+        test.insertEdge("B", "C", 2);
+
+        assertAll(() -> assertTrue(test.isReachable("A", "C")),
+                () -> assertFalse(test.isReachable("C", "A")),
+                () -> assertFalse(test.isReachable("A", "D")),
+                () -> assertEquals(3, test.tryShortestPathCost("A", "C").getAsDouble()),
+                () -> assertFalse(test.tryShortestPathCost("A", "D").isPresent()),
+                () -> assertFalse(test.tryShortestPathCost("A", "Z").isPresent()));
+
+        test.insertEdge("C", "A", 1); // closes the cycle A -> B -> C -> A
+        assertTrue(test.isReachable("C", "B"));
+        test.removeEdge("B", "C");
+        assertAll(() -> assertFalse(test.isReachable("A", "C")),
+                () -> assertTrue(test.isReachable("C", "B")));
+        try {
+            test.shortestPathCost("A", "D");
+            Assert.fail("should have thrown an exception");
+        } catch (NoSuchElementException e) {
+            assertEquals("There is no path between these nodes", e.getMessage());
+        }
+    }
+
+    /**
+     * tests that threads querying a stale reachability index at the same time all see it
+     * rebuilt, and get the same answers as a single thread
+     */
+    @Test
+    public void testReachabilityIndexConcurrentRebuild() throws InterruptedException {
+        DijkstraGraph<Integer, Number> test = new DijkstraGraph<>();
+        int n = 500;
+        for (int i = 0; i < n; ++i) {
+            test.insertNode(i);
+            if (i > 0) test.insertEdge(i - 1, i, 1);
+        }
+        test.insertEdge(n - 1, 0, 1);
+        test.enableReachabilityIndex();
+        test.removeEdge(n / 2 - 1, n / 2); // marks the index stale
+
+        boolean[] correct = new boolean[4];
+        Thread[] threads = new Thread[correct.length];
+        for (int t = 0; t < threads.length; ++t) {
+            int thread = t;
+            threads[t] = new Thread(() -> {
+                boolean ok = true;
+                for (int i = 0; i < n; i += 7) {
+                    ok &= test.isReachable(0, i) == (i < n / 2);
+                    ok &= test.isReachable(n / 2, i);
+                }
+                correct[thread] = ok;
+            });
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertArrayEquals(new boolean[] {true, true, true, true}, correct);
+    }
+
+    /**
+     * tests that radius and k nearest searches report matching nodes in order of cost, and
+     * stop at the radius or after k nodes
+     */
+    @Test
+    public void testRadiusAndNearestNodes() {
+        DijkstraGraph<String, Number> test = new DijkstraGraph<>();
+
+        test.insertNode("A");
+        test.insertNode("B");
+        test.insertNode("C");
+        test.insertNode("D");
+        test.insertNode("E");
+        test.insertNode("F");
+        test.insertNode("G");
+
+        test.insertEdge("A", "B", 4);
+        test.insertEdge("A", "C", 1);
+        test.insertEdge("B", "D", 2);
+        test.insertEdge("C", "D", 2);
+        test.insertEdge("B", "A", 3);
+        test.insertEdge("C", "E", 4);
+        test.insertEdge("E", "F", 3);
+        test.insertEdge("E", "G", 5);
+        test.insertEdge("A", "G", 15);
+
+        List<String> withinFour = new ArrayList<>();
+        test.nodesWithinCost("A", 4, node -> true)
+                .forEachRemaining(entry -> withinFour.add(entry.getKey()));
+        Iterator<Map.Entry<String, Double>> nearest = test.nearestNodes("A", 2,
+                node -> node.compareTo("D") >= 0);
+
+        assertAll(() -> assertEquals(List.of("A", "C", "D", "B"), withinFour),
+                () -> assertEquals(Map.entry("D", 3.0), nearest.next()),
+                () -> assertEquals(Map.entry("E", 5.0), nearest.next()),
+                () -> assertFalse(nearest.hasNext()));
+    }
+}
@@ -0,0 +1,53 @@
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * holds the tests for the EdgeListLoader
+ */
+public class EdgeListLoaderTest {
+    /**
+     * tests that a small CSV file is loaded with every edge, and that a chunk size smaller than
+     * the file still keeps lines that straddle two chunks intact
+     */
+    @Test
+    public void testLoadingCsvAcrossChunks() throws IOException {
+        Path file = Files.createTempFile("edges", ".csv");
+        try {
+            Files.writeString(file, "# pred,succ,weight\nA,B,4\nA,C,1\r\nB,D,2\n\nC,D,2\nB,A,3");
+            DijkstraGraph<String, Integer> test = new DijkstraGraph<>();
+            EdgeListLoader<String, Integer> loader = new EdgeListLoader<>(',', s -> s,
+                    Integer::valueOf, 24);
+
+            EdgeListLoader.Stats stats = loader.load(file, test);
+
+            assertAll(() -> assertEquals(5L, stats.edges), () -> assertEquals(4L, stats.nodes),
+                    () -> assertEquals(5, test.getEdgeCount()),
+                    () -> assertEquals(3, test.shortestPathCost("A", "D")),
+                    () -> assertEquals(stats.nanos, stats.parseNanos + stats.insertNanos));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * tests that a line longer than the chunk size is reported rather than silently split
+     */
+    @Test
+    public void testLineLongerThanChunk() throws IOException {
+        Path file = Files.createTempFile("edges", ".tsv");
+        try {
+            Files.writeString(file, "averyveryverylongkey\tB\t1\n");
+            EdgeListLoader<String, Integer> loader = new EdgeListLoader<>('\t', s -> s,
+                    Integer::valueOf, 8);
+
+            assertThrows(IOException.class, () -> loader.load(file, new DijkstraGraph<>()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
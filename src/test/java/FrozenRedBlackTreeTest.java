@@ -0,0 +1,37 @@
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * holds the tests for the FrozenRedBlackTree
+ */
+public class FrozenRedBlackTreeTest {
+
+    /**
+     * Tests that a frozen copy finds exactly the values of the tree it was made from, for every
+     * size up to a few complete levels, and that it does not change when the tree does.
+     */
+    @Test
+    public void ensureFrozenCopyContainsSameValuesAsTree() {
+        for (int n = 0; n <= 40; ++n) {
+            RedBlackTree<Integer> tree = new RedBlackTree<>();
+            for (int i = 0; i < n; ++i) {
+                tree.insert(2 * i + 1); // odd values, so even ones fall between them
+            }
+            FrozenRedBlackTree<Integer> frozen = tree.freeze();
+            assertEquals(n, frozen.size());
+            assertEquals(n == 0, frozen.isEmpty());
+            for (int value = -1; value <= 2 * n + 1; ++value) {
+                assertEquals(tree.contains(value), frozen.contains(value),
+                        "n=" + n + ", value=" + value);
+            }
+        }
+
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        tree.insert(5);
+        FrozenRedBlackTree<Integer> frozen = tree.freeze();
+        tree.insert(7);
+        assertAll(() -> assertFalse(frozen.contains(7)), () -> assertEquals(1, frozen.size()),
+                () -> assertThrows(NullPointerException.class, () -> frozen.contains(null)));
+    }
+}
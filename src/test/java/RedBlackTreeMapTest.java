@@ -0,0 +1,50 @@
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+
+/**
+ * holds the tests for the RedBlackTreeMap
+ */
+public class RedBlackTreeMapTest {
+
+    /**
+     * tests that values can be put, replaced, found and removed by key, and that the navigation
+     * methods return the mappings nearest to a key
+     */
+    @Test
+    public void ensureMapFindsValuesAndNearestKeys() {
+        RedBlackTreeMap<Integer, String> test1 = new RedBlackTreeMap<>();
+        for (int key = 10; key <= 50; key += 10) {
+            assertNull(test1.put(key, "v" + key));
+        }
+
+        assertAll(() -> assertEquals("v30", test1.put(30, "thirty")),
+                () -> assertEquals("thirty", test1.get(30)), () -> assertNull(test1.get(35)),
+                () -> assertTrue(test1.containsKey(50)), () -> assertEquals(5, test1.size()),
+                () -> assertEquals(30, test1.floorEntry(35).getKey()),
+                () -> assertEquals("thirty", test1.floorEntry(35).getValue()),
+                () -> assertEquals(40, test1.ceilingEntry(35).getKey()),
+                () -> assertEquals(40, test1.higherEntry(30).getKey()),
+                () -> assertEquals(20, test1.lowerEntry(30).getKey()),
+                () -> assertNull(test1.lowerEntry(10)),
+                () -> assertEquals(10, test1.firstEntry().getKey()),
+                () -> assertEquals(50, test1.lastEntry().getKey()),
+                () -> assertEquals("{10=v10, 20=v20, 30=thirty, 40=v40, 50=v50}",
+                        test1.toString()));
+
+        assertEquals("v10", test1.pollFirstEntry().getValue());
+        assertEquals("v50", test1.pollLastEntry().getValue());
+        assertEquals("v20", test1.remove(20));
+        assertNull(test1.remove(20));
+        assertAll(() -> assertEquals(2, test1.size()), () -> assertTrue(test1.tree.validate()),
+                () -> assertThrows(NullPointerException.class, () -> test1.get(null)));
+
+        test1.remove(30);
+        test1.remove(40);
+        assertAll(() -> assertTrue(test1.isEmpty()), () -> assertNull(test1.pollFirstEntry()),
+                () -> assertThrows(NoSuchElementException.class, () -> test1.firstEntry()),
+                () -> assertEquals("{}", test1.toString()));
+    }
+}
@@ -0,0 +1,117 @@
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * holds the tests for the RedBlackTreeSnapshot
+ */
+public class RedBlackTreeSnapshotTest {
+
+    /**
+     * tests that trees of each kind of key are written and read back with the same values, in a
+     * valid red-black tree, through buffers small enough to split the snapshot into many blocks
+     */
+    @Test
+    public void ensureSnapshotsRoundTripThroughChannels() throws IOException {
+        RedBlackTree<Integer> integers = new RedBlackTree<>();
+        for (int key : new int[]{Integer.MIN_VALUE, -300, -1, 0, 1, 2, 127, 128, 70000,
+                Integer.MAX_VALUE}) {
+            integers.insert(key);
+        }
+        RedBlackTree<Long> longs = new RedBlackTree<>();
+        for (long key : new long[]{Long.MIN_VALUE, -5L, 0L, 1L << 40, Long.MAX_VALUE}) {
+            longs.insert(key);
+        }
+        RedBlackTree<String> strings = new RedBlackTree<>();
+        for (String key : new String[]{"", "apple", "applesauce", "apply", "banana", "\uD83D\uDE00",
+                "\uD83D\uDE01x", "caf\u00e9 au lait, with a key longer than the buffer"}) {
+            strings.insert(key);
+        }
+
+        Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            // two snapshots back to back in one file, to check that reading stops at the end of
+            // the first one
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                RedBlackTreeSnapshot.write(integers, RedBlackTreeSnapshot.INTEGER_KEYS, channel,
+                        16);
+                RedBlackTreeSnapshot.write(strings, RedBlackTreeSnapshot.STRING_KEYS, channel, 16);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                RedBlackTree<Integer> readIntegers = RedBlackTreeSnapshot.read(
+                        RedBlackTreeSnapshot.INTEGER_KEYS, channel, 16);
+                RedBlackTree<String> readStrings = RedBlackTreeSnapshot.read(
+                        RedBlackTreeSnapshot.STRING_KEYS, channel, 32);
+                assertAll(() -> assertTrue(readIntegers.validate()),
+                        () -> assertEquals(integers.toInOrderString(),
+                                readIntegers.toInOrderString()),
+                        () -> assertTrue(readStrings.validate()),
+                        () -> assertEquals(strings.toInOrderString(),
+                                readStrings.toInOrderString()),
+                        () -> assertEquals(channel.size(), channel.position()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RedBlackTreeSnapshot.write(longs, RedBlackTreeSnapshot.LONG_KEYS,
+                Channels.newChannel(bytes));
+        RedBlackTree<Long> readLongs = RedBlackTreeSnapshot.read(RedBlackTreeSnapshot.LONG_KEYS,
+                Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+        assertAll(() -> assertTrue(readLongs.validate()),
+                () -> assertEquals(longs.toInOrderString(), readLongs.toInOrderString()));
+
+        // reading rejects a snapshot that was cut short
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 6);
+        assertThrows(EOFException.class, () -> RedBlackTreeSnapshot.read(
+                RedBlackTreeSnapshot.LONG_KEYS,
+                Channels.newChannel(new ByteArrayInputStream(truncated))));
+
+        // and a corrupt one whose only string claims to be about 2GB long, without allocating it
+        ByteArrayOutputStream corrupt = new ByteArrayOutputStream();
+        RedBlackTreeSnapshot.Output out = new RedBlackTreeSnapshot.Output(
+                Channels.newChannel(corrupt), 16);
+        out.writeInt(RedBlackTreeSnapshot.MAGIC);
+        out.writeVarLong(1);
+        out.writeVarLong(0);
+        out.writeVarLong(Integer.MAX_VALUE - 8);
+        out.finish();
+        assertThrows(EOFException.class, () -> RedBlackTreeSnapshot.read(
+                RedBlackTreeSnapshot.STRING_KEYS,
+                Channels.newChannel(new ByteArrayInputStream(corrupt.toByteArray()))));
+    }
+
+    /**
+     * tests that rebuilding trees of every size up to a few complete levels gives valid red-black
+     * trees of the smallest possible height
+     */
+    @Test
+    public void ensureRebuiltTreesAreBalanced() throws IOException {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int n = 0; n <= 70; ++n) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            RedBlackTreeSnapshot.write(tree, RedBlackTreeSnapshot.INTEGER_KEYS,
+                    Channels.newChannel(bytes));
+            RedBlackTree<Integer> read = RedBlackTreeSnapshot.read(
+                    RedBlackTreeSnapshot.INTEGER_KEYS,
+                    Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+            int minimumHeight = 32 - Integer.numberOfLeadingZeros(n);
+            assertAll(() -> assertTrue(read.validate()),
+                    () -> assertEquals(minimumHeight, read.height()),
+                    () -> assertEquals(tree.toInOrderString(), read.toInOrderString()));
+            tree.insert(3 * n);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+
+/**
+ * holds the tests for the RedBlackTree
+ */
+public class RedBlackTreeTest {
+
+    /**
+     * this tests adding a Node as RC to a red LC parent with a black aunt
+     */
+    @Test
+    public void ensureCorrectRotationWhenRCIsAddedToLCParentWithBlackAunt() {
+
+        RedBlackTree<Integer> test1 = new RedBlackTree<>();
+        RedBlackTree.Node<Integer> node1 = new RedBlackTree.Node<>(45);
+        RedBlackTree.Node<Integer> node2 = new RedBlackTree.Node<>(26);
+        RedBlackTree.Node<Integer> node3 = new RedBlackTree.Node<>(72);
+        RedBlackTree.Node<Integer> node4 = new RedBlackTree.Node<>(28);
+
+        test1.insert(node1.data);
+        test1.insert(node2.data);
+        test1.insert(node3.data);
+        test1.root.context[1].blackHeight = 0;
+        test1.root.context[2].blackHeight = 1;
+        test1.insert(node4.data);
+
+        assertAll(() -> assertEquals(1, test1.root.blackHeight), () -> assertEquals(0,
+                test1.root.context[1].blackHeight), () -> assertEquals(0,
+                test1.root.context[2].blackHeight), () -> assertEquals(1,
+                test1.root.context[2].context[2].blackHeight));
+
+
+    }
+
+    /**
+     * tests the correct coloring after adding to the LC of a red parent that has a black aunt
+     */
+    @Test
+    public void ensureCorrectRotationWhenLCIsAddedToLCParentWithBlackAunt() {
+        RedBlackTree<Integer> test1 = new RedBlackTree<>();
+        RedBlackTree.Node<Integer> node1 = new RedBlackTree.Node<>(45);
+        RedBlackTree.Node<Integer> node2 = new RedBlackTree.Node<>(26);
+        RedBlackTree.Node<Integer> node3 = new RedBlackTree.Node<>(72);
+        RedBlackTree.Node<Integer> node4 = new RedBlackTree.Node<>(20);
+
+        test1.insert(node1.data);
+        test1.insert(node2.data);
+        test1.insert(node3.data);
+        test1.root.context[1].blackHeight = 0;
+        test1.root.context[2].blackHeight = 1;
+        test1.insert(node4.data);
+
+        assertAll(() -> assertEquals(1, test1.root.blackHeight), () -> assertEquals(0,
+                test1.root.context[1].blackHeight), () -> assertEquals(0,
+                test1.root.context[2].blackHeight), () -> assertEquals(1,
+                test1.root.context[2].context[2].blackHeight));
+    }
+
+    /**
+     * test to make sure that the inserted nodes have the correct color
+     */
+    @Test
+    public void ensureCorrectColoringOfRedBlackTree() {
+        RedBlackTree<Integer> test1 = new RedBlackTree<>();
+        RedBlackTree.Node<Integer> node1 = new RedBlackTree.Node<>(4);
+        RedBlackTree.Node<Integer> node2 = new RedBlackTree.Node<>(2);
+        RedBlackTree.Node<Integer> node3 = new RedBlackTree.Node<>(6);
+        RedBlackTree.Node<Integer> node4 = new RedBlackTree.Node<>(1);
+        RedBlackTree.Node<Integer> node5 = new RedBlackTree.Node<>(3);
+        RedBlackTree.Node<Integer> node6 = new RedBlackTree.Node<>(5);
+
+
+        test1.insert(node1.data);
+        test1.insert(node2.data);
+        test1.insert(node3.data);
+        test1.insert(node4.data);
+        test1.insert(node5.data);
+        test1.insert(node6.data);
+
+        assertAll(() -> assertEquals(1, test1.root.blackHeight), () -> assertEquals(1,
+                test1.root.context[1].blackHeight), () -> assertEquals(1,
+                test1.root.context[2].blackHeight), () -> assertEquals(0,
+                test1.root.context[1].context[1].blackHeight), () -> assertEquals(0,
+                test1.root.context[1].context[2].blackHeight), () -> assertEquals(0,
+                test1.root.context[2].context[1].blackHeight));
+
+    }
+
+    /**
+     * tests that inserting ascending values, which needs rotations, keeps the tree valid and
+     * balanced, and that the statistics count the rotations, recolors and lookup comparisons
+     */
+    @Test
+    public void ensureStatisticsAndValidationAfterAscendingInserts() {
+        RedBlackTree<Integer> test1 = new RedBlackTree<>();
+        for (int i = 1; i <= 7; ++i) {
+            test1.insert(i);
+        }
+
+        test1.contains(1);
+
+        assertAll(() -> assertTrue(test1.validate()), () -> assertEquals(4, test1.height()),
+                () -> assertEquals(2, test1.blackHeight()),
+                () -> assertEquals(3L, test1.getRotationCount()),
+                () -> assertTrue(test1.getRecolorCount() > 0),
+                () -> assertEquals(1L, test1.getLookupCount()),
+                () -> assertEquals(2, test1.getLastLookupComparisonCount()));
+
+        test1.root.context[1].blackHeight = 0; // break the equal black height property
+        assertThrows(IllegalStateException.class, () -> test1.validate());
+    }
+    /**
+     * tests the navigation methods on a tree of even values, and that removing values (including
+     * with pollFirst and pollLast) rebalances the tree
+     */
+    @Test
+    public void ensureNavigationAndRebalancingRemoval() {
+        RedBlackTree<Integer> test1 = new RedBlackTree<>();
+        for (int i = 2; i <= 40; i += 2) {
+            test1.insert(i);
+        }
+
+        assertAll(() -> assertEquals(10, test1.floor(11)), () -> assertEquals(10, test1.floor(10)),
+                () -> assertNull(test1.floor(1)), () -> assertEquals(12, test1.ceiling(11)),
+                () -> assertNull(test1.ceiling(41)), () -> assertEquals(12, test1.higher(10)),
+                () -> assertEquals(8, test1.lower(10)), () -> assertNull(test1.lower(2)),
+                () -> assertEquals(2, test1.first()), () -> assertEquals(40, test1.last()),
+                () -> assertThrows(NullPointerException.class, () -> test1.floor(null)));
+
+        assertEquals(2, test1.pollFirst());
+        assertEquals(40, test1.pollLast());
+        for (int i = 10; i <= 30; i += 4) {
+            test1.remove(i);
+        }
+        // 18 values were left after polling, and 6 more were removed; a red-black tree of 12
+        // values is at most 2 * log2(13) high
+        assertAll(() -> assertTrue(test1.validate()), () -> assertEquals(12, test1.size()),
+                () -> assertTrue(test1.height() <= 7),
+                () -> assertEquals("[ 4, 6, 8, 12, 16, 20, 24, 28, 32, 34, 36, 38 ]",
+                        test1.toInOrderString()));
+
+        while (!test1.isEmpty()) {
+            test1.pollLast();
+            test1.validate();
+        }
+        assertAll(() -> assertNull(test1.pollFirst()),
+                () -> assertThrows(NoSuchElementException.class, () -> test1.first()));
+    }
+}
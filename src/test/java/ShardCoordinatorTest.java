@@ -0,0 +1,77 @@
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * holds the tests for the ShardCoordinator
+ */
+public class ShardCoordinatorTest {
+    /**
+     * tests that a sharded graph, served by workers on loopback sockets, gives the same costs
+     * and failures as the original graph for every pair of nodes, including a removed node
+     * and ids that were never given out
+     */
+    @Test
+    public void testShardedCostsMatchSingleGraph() throws Exception {
+        DijkstraGraph<Integer, Integer> test = new DijkstraGraph<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 30; ++i) {
+            test.insertNode(i);
+        }
+        for (int i = 0; i < 70; ++i) {
+            test.insertEdge(random.nextInt(30), random.nextInt(30), 1 + random.nextInt(9));
+        }
+
+        test.removeNode(29);
+
+        GraphPartition partition = new GraphPartition(test, 3);
+        int[] ports = new int[3];
+        List<Thread> workers = new ArrayList<>();
+        for (int s = 0; s < 3; ++s) {
+            ServerSocket server = ShardWorker.listen();
+            ports[s] = server.getLocalPort();
+            Thread worker = new Thread(() -> {
+                try (server) {
+                    new ShardWorker().serve(server.accept());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        try (ShardCoordinator sharded = new ShardCoordinator(partition, ports)) {
+            // nodes were inserted in order, so each node's id is its data
+            for (int start = 0; start < 30; ++start) {
+                for (int end = 0; end < 30; ++end) {
+                    double expected = test.tryShortestPathCost(start, end).orElse(-1);
+                    double actual;
+                    try {
+                        actual = sharded.shortestPathCostById(start, end);
+                    } catch (NoSuchElementException e) {
+                        actual = -1;
+                    }
+                    assertEquals(expected, actual);
+                }
+            }
+            assertThrows(NoSuchElementException.class,
+                    () -> sharded.shortestPathCostById(0, 29));
+            assertThrows(NoSuchElementException.class,
+                    () -> sharded.shortestPathCostById(-1, 0));
+            assertThrows(NoSuchElementException.class,
+                    () -> sharded.shortestPathCostById(0, 30));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}